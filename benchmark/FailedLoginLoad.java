@@ -0,0 +1,96 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator for failed-login-benchmark.sh, run with the JDK source
+ * launcher: java FailedLoginLoad.java <base-url> <threads> <warmup-s> <measure-s> <mode>
+ *
+ * mode "unknown" logs in as a fresh, unregistered email every request
+ * (credential stuffing: no lockout, no password hash); "locked" hammers
+ * one registered email so nearly every request is throttled.
+ */
+public class FailedLoginLoad {
+
+    public static void main(String[] args) throws Exception {
+        String base = args[0];
+        int threads = Integer.parseInt(args[1]);
+        int warmupSeconds = Integer.parseInt(args[2]);
+        int measureSeconds = Integer.parseInt(args[3]);
+        String mode = args[4];
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        URI uri = URI.create(base + "/api/auth/login");
+
+        AtomicLong sequence = new AtomicLong();
+        AtomicLong requests = new AtomicLong();
+        AtomicLong unexpected = new AtomicLong();
+        long[][] latencies = new long[threads][];
+        int[] counts = new int[threads];
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(measureSeconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int slot = t;
+            latencies[t] = new long[1 << 20];
+            pool.submit(() -> {
+                while (true) {
+                    long started = System.nanoTime();
+                    if (started >= end) {
+                        return null;
+                    }
+                    String email = mode.equals("locked")
+                        ? "bench-locked@example.com"
+                        : "stuffing-" + sequence.incrementAndGet() + "@example.com";
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + email + "\",\"password\":\"wrong-password\"}"))
+                        .build();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    long elapsed = System.nanoTime() - started;
+                    if (started >= measureFrom) {
+                        requests.incrementAndGet();
+                        if (response.statusCode() != 401 && response.statusCode() != 429) {
+                            unexpected.incrementAndGet();
+                        }
+                        if (counts[slot] < latencies[slot].length) {
+                            latencies[slot][counts[slot]++] = elapsed;
+                        }
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(warmupSeconds + measureSeconds + 60, TimeUnit.SECONDS);
+
+        long[] all = new long[Arrays.stream(counts).sum()];
+        int pos = 0;
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(latencies[t], 0, all, pos, counts[t]);
+            pos += counts[t];
+        }
+        Arrays.sort(all);
+        System.out.printf("mode=%s threads=%d requests=%d throughput=%.0f req/s p50=%.2f ms p99=%.2f ms unexpected=%d%n",
+            mode, threads, requests.get(), requests.get() / (double) measureSeconds,
+            percentile(all, 0.50), percentile(all, 0.99), unexpected.get());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# ================================================================
+# Audit overhead: rejected-login latency with audit on and off
+# ================================================================
+# Usage: benchmark/audit-overhead-benchmark.sh [threads] [seconds] [modes...]
+#   modes: unknown locked   (default: both)
+#
+# Starts the packaged jar twice on the default H2 profile, once with
+# app.audit.enabled=true and once with false, and drives it with
+# FailedLoginLoad.java as failed-login-benchmark.sh does. Every request
+# records a LOGIN_FAILURE audit event, so the difference between the two
+# runs is the cost of the audit path. Each mode gets a 10 second warm-up
+# before measuring. Build first: mvn package -DskipTests
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+THREADS=${1:-16}
+SECONDS_PER_MODE=${2:-20}
+shift 2 || true
+MODES=("$@")
+[ ${#MODES[@]} -eq 0 ] && MODES=(unknown locked)
+PORT=${PORT:-18081}
+BASE=http://localhost:$PORT
+JAR=$(ls target/*.jar | grep -v original | head -n 1)
+
+pid=
+trap '[ -n "$pid" ] && kill $pid 2>/dev/null; wait 2>/dev/null || true' EXIT
+
+for audit in true false; do
+    java -Dserver.port=$PORT -Dlogging.level.root=WARN -jar "$JAR" --app.audit.enabled=$audit \
+        > "target/audit-overhead-$audit.log" 2>&1 &
+    pid=$!
+
+    # Readiness also waits for the JIT warm-up, which would otherwise share the CPU with the load
+    until curl -sf "$BASE/actuator/health/readiness" > /dev/null; do
+        kill -0 $pid 2>/dev/null || { echo "Application failed to start, see target/audit-overhead-$audit.log"; exit 1; }
+        sleep 1
+    done
+
+    curl -s -o /dev/null -X POST "$BASE/api/auth/signup" -H 'Content-Type: application/json' \
+        -d '{"name":"bench","email":"bench-locked@example.com","password":"correct-password"}'
+
+    for mode in "${MODES[@]}"; do
+        echo -n "audit=$audit "
+        java benchmark/FailedLoginLoad.java "$BASE" "$THREADS" 10 "$SECONDS_PER_MODE" "$mode"
+    done
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+    pid=
+done
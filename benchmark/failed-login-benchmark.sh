@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# ================================================================
+# Failed-login benchmark: throughput and latency of rejected logins
+# ================================================================
+# Usage: benchmark/failed-login-benchmark.sh [threads] [seconds] [modes...]
+#   modes: unknown locked   (default: both)
+#
+# Starts the packaged jar on the default H2 profile and drives
+# POST /api/auth/login with FailedLoginLoad.java. "unknown" is credential
+# stuffing against unregistered emails; "locked" repeats one registered
+# email past the lockout threshold, so requests are throttled (429).
+# Each mode gets a 10 second warm-up before measuring. Build first:
+#   mvn package -DskipTests
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+THREADS=${1:-16}
+SECONDS_PER_MODE=${2:-20}
+shift 2 || true
+MODES=("$@")
+[ ${#MODES[@]} -eq 0 ] && MODES=(unknown locked)
+PORT=${PORT:-18081}
+BASE=http://localhost:$PORT
+JAR=$(ls target/*.jar | grep -v original | head -n 1)
+
+# Keep request logging and audit persistence from dominating the numbers
+java -Dserver.port=$PORT -Dlogging.level.root=WARN -jar "$JAR" > target/failed-login-benchmark.log 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null; wait $PID 2>/dev/null || true' EXIT
+
+until curl -sf "$BASE/api/ping" > /dev/null; do
+    kill -0 $PID 2>/dev/null || { echo "Application failed to start, see target/failed-login-benchmark.log"; exit 1; }
+    sleep 1
+done
+
+curl -s -o /dev/null -X POST "$BASE/api/auth/signup" -H 'Content-Type: application/json' \
+    -d '{"name":"bench","email":"bench-locked@example.com","password":"correct-password"}'
+
+for mode in "${MODES[@]}"; do
+    java benchmark/FailedLoginLoad.java "$BASE" "$THREADS" 10 "$SECONDS_PER_MODE" "$mode"
+done
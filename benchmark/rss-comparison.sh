@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# ================================================================
+# Steady-state RSS: default profile vs lean profile
+# ================================================================
+# Usage: benchmark/rss-comparison.sh [requests]
+#
+# Each configuration is started, driven with signup/login/me traffic,
+# left to settle, then sampled: RSS from /proc and the JVM breakdown
+# from /api/admin/memory, read as a bootstrap admin created at startup
+# (app.security.bootstrap-admins). Build first: mvn package -DskipTests
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+REQUESTS=${1:-200}
+PORT=${PORT:-18081}
+JAR=$(ls target/*.jar | grep -v original | head -n 1)
+ADMIN_EMAIL=bench-admin@example.com
+ADMIN_PASSWORD=bench-admin-secret
+LEAN_JVM="-XX:MaxRAMPercentage=60 -XX:MaxMetaspaceSize=128m -XX:ReservedCodeCacheSize=48m -XX:MaxDirectMemorySize=32m -Xss512k -XX:+UseSerialGC"
+
+CONFIGS=(
+    "default||"
+    "lean|default,lean|"
+    "lean+jvm|default,lean|$LEAN_JVM"
+)
+
+drive() {
+    local base="http://localhost:$PORT/api"
+    local token
+    for i in $(seq 1 "$REQUESTS"); do
+        curl -s -o /dev/null -H 'Content-Type: application/json' \
+            -d "{\"name\":\"user$i\",\"email\":\"user$i@example.com\",\"password\":\"secret$i\"}" "$base/auth/signup"
+        token=$(curl -s -H 'Content-Type: application/json' \
+            -d "{\"email\":\"user$i@example.com\",\"password\":\"secret$i\"}" "$base/auth/login" \
+            | sed -E 's/.*"token":"([^"]+)".*/\1/')
+        curl -s -o /dev/null -H "Authorization: Bearer $token" "$base/user/me"
+    done
+}
+
+admin_token() {
+    curl -s -H 'Content-Type: application/json' \
+        -d "{\"email\":\"$ADMIN_EMAIL\",\"password\":\"$ADMIN_PASSWORD\"}" "http://localhost:$PORT/api/auth/login" \
+        | sed -E 's/.*"token":"([^"]+)".*/\1/'
+}
+
+printf "%-10s %8s %8s %10s %8s %8s\n" "config" "rss_mb" "heap_mb" "nonheap_mb" "threads" "direct"
+for config in "${CONFIGS[@]}"; do
+    IFS='|' read -r name profiles jvm <<< "$config"
+    # shellcheck disable=SC2086
+    SPRING_PROFILES_ACTIVE=${profiles:-default} java $jvm -Dserver.port=$PORT -jar "$JAR" \
+        --app.security.bootstrap-admins=$ADMIN_EMAIL --app.security.bootstrap-admin-password=$ADMIN_PASSWORD \
+        > "target/rss-$name.log" 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/api/ping" > /dev/null; do sleep 0.2; done
+
+    drive
+    token=$(admin_token)
+    sleep 15
+    rss=$(awk '/VmRSS/ {printf "%.0f", $2 / 1024}' "/proc/$pid/status")
+    curl -s -H "Authorization: Bearer $token" "http://localhost:$PORT/api/admin/memory" | python3 -c "
+import json, sys
+m = json.load(sys.stdin)
+direct = m['buffers'].get('direct', {}).get('usedMb', 0)
+print('%-10s %8s %8.0f %10.0f %8d %8.1f' % ('$name', '$rss', m['heap']['usedMb'], m['nonHeap']['usedMb'], m['threads']['live'], direct))
+"
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+done
@@ -0,0 +1,100 @@
+#!/usr/bin/env bash
+# ================================================================
+# Startup benchmark: time to first successful /api/ping and RSS
+# ================================================================
+# Usage: benchmark/startup-benchmark.sh [runs] [modes...]
+#   modes: jar aot cds native   (default: jar aot cds, plus native if built)
+#
+# Every mode runs the mysql profile in probe startup mode with no MySQL
+# reachable, so all of them land on the same H2 fallback and compare like
+# for like. Build first:
+#   mvn -Paot package -DskipTests          (jar + aot + cds)
+#   mvn -Pnative native:compile            (optional native binary)
+#
+# RSS is sampled 5 seconds after the first successful ping.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-3}
+shift || true
+PORT=${PORT:-18080}
+JAR=$(ls target/*.jar | grep -v original | head -n 1)
+CDS_DIR=target/cds
+NATIVE=target/auth-backend
+
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+    MODES=(jar aot cds)
+    [ -x "$NATIVE" ] && MODES+=(native)
+fi
+
+export SPRING_PROFILES_ACTIVE=mysql
+export DATASOURCE_STARTUP_MODE=probe
+export DB_MIGRATION_ENABLED=false
+export JPA_DDL_AUTO=update
+export LOG_FILE_PATH=target/benchmark.log
+
+prepare_cds() {
+    [ -f "$CDS_DIR/app.jsa" ] && return
+    echo "Preparing CDS archive in $CDS_DIR ..."
+    rm -rf "$CDS_DIR"
+    java -Djarmode=tools -jar "$JAR" extract --destination "$CDS_DIR" > /dev/null
+    mv "$CDS_DIR"/*.jar "$CDS_DIR/app.jar"
+    JPA_DDL_AUTO=none java -XX:ArchiveClassesAtExit="$CDS_DIR/app.jsa" \
+        -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+        -jar "$CDS_DIR/app.jar" > target/cds-training.log 2>&1
+}
+
+# exec so the background pid is the JVM itself
+start() {
+    case "$1" in
+        jar)    exec java -Dserver.port=$PORT -jar "$JAR" ;;
+        aot)    exec java -Dserver.port=$PORT -Dspring.aot.enabled=true -jar "$JAR" ;;
+        cds)    exec java -Dserver.port=$PORT -Dspring.aot.enabled=true \
+                    -XX:SharedArchiveFile="$CDS_DIR/app.jsa" -jar "$CDS_DIR/app.jar" ;;
+        native) exec "$NATIVE" --server.port=$PORT ;;
+    esac
+}
+
+run_once() {
+    local mode=$1
+    local begin end pid rss
+    begin=$(date +%s%N)
+    start "$mode" > "target/benchmark-$mode.log" 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/api/ping" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "  $mode exited before answering, see target/benchmark-$mode.log" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    sleep 5
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$(( (end - begin) / 1000000 )) $(( rss / 1024 ))"
+}
+
+median() {
+    sort -n | awk '{a[NR]=$1} END {print a[int((NR + 1) / 2)]}'
+}
+
+[[ " ${MODES[*]} " == *" cds "* ]] && prepare_cds
+
+printf "%-8s %12s %12s   %s\n" "mode" "ping_ms" "rss_mb" "(median of $RUNS)"
+for mode in "${MODES[@]}"; do
+    times=()
+    rsses=()
+    for _ in $(seq 1 "$RUNS"); do
+        read -r ms mb < <(run_once "$mode")
+        times+=("$ms")
+        rsses+=("$mb")
+    done
+    printf "%-8s %12s %12s\n" "$mode" \
+        "$(printf '%s\n' "${times[@]}" | median)" \
+        "$(printf '%s\n' "${rsses[@]}" | median)"
+done
@@ -1,5 +1,6 @@
 package com.example.authbackend;
 
+import java.util.Map;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,6 +8,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class AuthBackendApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(AuthBackendApplication.class, args);
+        SpringApplication application = new SpringApplication(AuthBackendApplication.class);
+        // Migrations are MySQL-only; profiles opt in with spring.flyway.enabled=true
+        application.setDefaultProperties(Map.of("spring.flyway.enabled", "false"));
+        application.run(args);
     }
 }
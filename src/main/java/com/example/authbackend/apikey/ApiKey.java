@@ -0,0 +1,117 @@
+package com.example.authbackend.apikey;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Mapping of api_keys. Only the SHA-256 digest of a key is stored; the
+ * raw key is shown once at creation. Every change bumps updated_at, which
+ * is what ApiKeyIndex's incremental refresh reads.
+ */
+@Entity
+@Table(
+    name = "api_keys",
+    uniqueConstraints = @UniqueConstraint(columnNames = "key_digest"),
+    indexes = @Index(name = "idx_api_keys_updated_at", columnList = "updated_at")
+)
+public class ApiKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // First characters of the raw key, to recognise it in listings
+    @Column(name = "key_prefix", nullable = false, length = 16)
+    private String keyPrefix;
+
+    @JsonIgnore
+    @Column(name = "key_digest", nullable = false, length = 64)
+    private String keyDigest;
+
+    // Comma-separated, lowercase
+    @Column(nullable = false, length = 500)
+    private String scopes;
+
+    // 0 means unlimited
+    @Column(name = "rate_limit_per_minute", nullable = false)
+    private int rateLimitPerMinute;
+
+    @Column(nullable = false)
+    private boolean enabled = true;
+
+    @Column(name = "created_by")
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    public ApiKey() {
+    }
+
+    public ApiKey(String name, String keyPrefix, String keyDigest, String scopes,
+                  int rateLimitPerMinute, LocalDateTime expiresAt, String createdBy) {
+        this.name = name;
+        this.keyPrefix = keyPrefix;
+        this.keyDigest = keyDigest;
+        this.scopes = scopes;
+        this.rateLimitPerMinute = rateLimitPerMinute;
+        this.expiresAt = expiresAt;
+        this.createdBy = createdBy;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public String getKeyDigest() {
+        return keyDigest;
+    }
+
+    public String getScopes() {
+        return scopes;
+    }
+
+    public int getRateLimitPerMinute() {
+        return rateLimitPerMinute;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.authbackend.apikey;
+
+import com.example.authbackend.auth.AuthController.ErrorResponse;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/api-keys")
+public class ApiKeyAdminController {
+
+    private final ApiKeyIndex apiKeyIndex;
+    private final ApiKeyRepository apiKeyRepository;
+
+    public ApiKeyAdminController(ApiKeyIndex apiKeyIndex, ApiKeyRepository apiKeyRepository) {
+        this.apiKeyIndex = apiKeyIndex;
+        this.apiKeyRepository = apiKeyRepository;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ApiKey>> keys() {
+        return ResponseEntity.ok(apiKeyRepository.findAllByOrderByIdDesc());
+    }
+
+    /**
+     * Create a key. The response is the only time the raw key is shown;
+     * callers send it as X-API-Key.
+     */
+    @PostMapping
+    public ResponseEntity<?> create(@RequestBody CreateRequest request, Authentication authentication) {
+        if (request.getExpiresInDays() != null && request.getExpiresInDays() <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("expiresInDays must be positive"));
+        }
+        LocalDateTime expiresAt = request.getExpiresInDays() != null
+            ? LocalDateTime.now().plusDays(request.getExpiresInDays())
+            : null;
+        try {
+            ApiKeyIndex.Created created = apiKeyIndex.create(request.getName(), request.getScopes(),
+                request.getRateLimitPerMinute(), expiresAt, authentication.getName());
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("key", created.rawKey());
+            body.put("apiKey", created.apiKey());
+            return ResponseEntity.status(HttpStatus.CREATED).body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Revoke a key. This instance stops accepting it at once; others on
+     * their next index refresh.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> revoke(@PathVariable("id") Long id) {
+        return apiKeyIndex.revoke(id)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("API key not found or already revoked"));
+    }
+
+    public static class CreateRequest {
+
+        private String name;
+        private List<String> scopes;
+        private int rateLimitPerMinute;
+        private Integer expiresInDays;
+
+        public CreateRequest() {}
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getScopes() {
+            return scopes;
+        }
+
+        public void setScopes(List<String> scopes) {
+            this.scopes = scopes;
+        }
+
+        public int getRateLimitPerMinute() {
+            return rateLimitPerMinute;
+        }
+
+        public void setRateLimitPerMinute(int rateLimitPerMinute) {
+            this.rateLimitPerMinute = rateLimitPerMinute;
+        }
+
+        public Integer getExpiresInDays() {
+            return expiresInDays;
+        }
+
+        public void setExpiresInDays(Integer expiresInDays) {
+            this.expiresInDays = expiresInDays;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.authbackend.apikey;
+
+import com.example.authbackend.security.TokenDigests;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory index of enabled API keys by SHA-256 digest
+ *
+ * Authenticating a key is one digest and one map lookup: no BCrypt, no
+ * query. The first refresh loads every row; later ones read only rows
+ * whose updated_at is past the previous refresh start (less
+ * overlap-seconds, for clock skew between replicas) and upsert or drop
+ * them. Changes made on this instance apply at once; other instances
+ * see them within refresh-interval-ms. A failed refresh keeps the index
+ * as it was. Each key has its own fixed one-minute rate window, kept
+ * across refreshes while its limit is unchanged.
+ */
+@Service
+public class ApiKeyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiKeyIndex.class);
+
+    public static final String KEY_PREFIX = "ak_";
+    static final String SCOPE_AUTHORITY_PREFIX = "SCOPE_";
+
+    private static final Pattern SCOPE = Pattern.compile("[a-z0-9:._-]{1,64}");
+    private static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final String SELECT_SQL =
+        "SELECT id, name, key_digest, scopes, rate_limit_per_minute, enabled, expires_at FROM api_keys";
+    private static final String SELECT_CHANGED_SQL = SELECT_SQL + " WHERE updated_at > ?";
+    private static final String REVOKE_SQL =
+        "UPDATE api_keys SET enabled = FALSE, updated_at = ? WHERE id = ? AND enabled = TRUE";
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long overlapMillis;
+
+    private final Map<String, Entry> byDigest = new ConcurrentHashMap<>();
+    private volatile Timestamp refreshedFrom;
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter limited;
+
+    public ApiKeyIndex(
+        ApiKeyRepository apiKeyRepository,
+        JdbcTemplate jdbcTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${app.api-keys.overlap-seconds:30}") long overlapSeconds
+    ) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.overlapMillis = TimeUnit.SECONDS.toMillis(overlapSeconds);
+
+        this.accepted = meterRegistry.counter("apikeys.requests", "result", "accepted");
+        this.rejected = meterRegistry.counter("apikeys.requests", "result", "rejected");
+        this.limited = meterRegistry.counter("apikeys.requests", "result", "limited");
+        meterRegistry.gaugeMapSize("apikeys.index.size", List.of(), byDigest);
+    }
+
+    /**
+     * @return the key's entry, or null if it is unknown, revoked or expired
+     */
+    public Entry find(String rawKey) {
+        Entry entry = rawKey.startsWith(KEY_PREFIX) ? byDigest.get(TokenDigests.sha256Hex(rawKey)) : null;
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+            rejected.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Takes one request from the key's window
+     *
+     * @return 0 if allowed, otherwise milliseconds until the window resets
+     */
+    public long tryAcquire(Entry entry) {
+        long retryAfter = entry.window.tryAcquire(System.currentTimeMillis());
+        (retryAfter == 0 ? accepted : limited).increment();
+        return retryAfter;
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.api-keys.refresh-interval-ms:15000}",
+        initialDelay = 0
+    )
+    public void refresh() {
+        Timestamp started = new Timestamp(System.currentTimeMillis());
+        Timestamp from = refreshedFrom;
+        try {
+            if (from == null) {
+                Map<String, Entry> loaded = new ConcurrentHashMap<>();
+                jdbcTemplate.query(SELECT_SQL, rs -> {
+                    Row row = mapRow(rs);
+                    if (row.enabled()) {
+                        loaded.put(row.digest(), toEntry(row, null));
+                    }
+                });
+                byDigest.keySet().retainAll(loaded.keySet());
+                byDigest.putAll(loaded);
+            } else {
+                jdbcTemplate.query(SELECT_CHANGED_SQL, rs -> {
+                    apply(mapRow(rs));
+                }, new Timestamp(from.getTime() - overlapMillis));
+            }
+            refreshedFrom = started;
+        } catch (Exception e) {
+            log.warn("Failed to refresh API keys, keeping previous index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the raw key, which is not stored and cannot be shown again
+     * @throws IllegalArgumentException on a blank name or invalid scope
+     */
+    public Created create(String name, List<String> scopes, int rateLimitPerMinute,
+                          LocalDateTime expiresAt, String createdBy) {
+        if (name == null || name.isBlank() || name.length() > 100) {
+            throw new IllegalArgumentException("name is required and must be at most 100 characters");
+        }
+        if (rateLimitPerMinute < 0) {
+            throw new IllegalArgumentException("rateLimitPerMinute must not be negative");
+        }
+        String normalizedScopes = String.join(",", normalizeScopes(scopes));
+        if (normalizedScopes.length() > 500) {
+            throw new IllegalArgumentException("scopes must be at most 500 characters");
+        }
+
+        String rawKey = KEY_PREFIX + TokenDigests.newToken();
+        ApiKey apiKey = apiKeyRepository.save(new ApiKey(name.trim(), rawKey.substring(0, 11),
+            TokenDigests.sha256Hex(rawKey), normalizedScopes, rateLimitPerMinute, expiresAt, createdBy));
+        apply(new Row(apiKey.getId(), apiKey.getName(), apiKey.getKeyDigest(), apiKey.getScopes(),
+            apiKey.getRateLimitPerMinute(), true, expiresAt));
+        return new Created(apiKey, rawKey);
+    }
+
+    public boolean revoke(Long id) {
+        boolean revoked = jdbcTemplate.update(REVOKE_SQL, Timestamp.valueOf(LocalDateTime.now()), id) > 0;
+        byDigest.values().removeIf(entry -> entry.id().equals(id));
+        return revoked;
+    }
+
+    private void apply(Row row) {
+        if (!row.enabled()) {
+            byDigest.remove(row.digest());
+        } else {
+            byDigest.compute(row.digest(), (digest, current) -> toEntry(row, current));
+        }
+    }
+
+    private static Entry toEntry(Row row, Entry current) {
+        List<GrantedAuthority> authorities = Arrays.stream(row.scopes().split(","))
+            .filter(scope -> !scope.isEmpty())
+            .<GrantedAuthority>map(scope -> new SimpleGrantedAuthority(SCOPE_AUTHORITY_PREFIX + scope))
+            .toList();
+        RateWindow window = current != null && current.window.limit == row.rateLimitPerMinute()
+            ? current.window
+            : new RateWindow(row.rateLimitPerMinute());
+        long expiresAtMillis = row.expiresAt() != null ? Timestamp.valueOf(row.expiresAt()).getTime() : 0;
+        return new Entry(row.id(), row.name(), authorities, expiresAtMillis, window);
+    }
+
+    private static Set<String> normalizeScopes(List<String> scopes) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (scopes != null) {
+            for (String scope : scopes) {
+                String value = scope == null ? "" : scope.trim().toLowerCase(Locale.ROOT);
+                if (!SCOPE.matcher(value).matches()) {
+                    throw new IllegalArgumentException("Invalid scope: " + scope);
+                }
+                normalized.add(value);
+            }
+        }
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("At least one scope is required");
+        }
+        return normalized;
+    }
+
+    private static Row mapRow(ResultSet rs) throws SQLException {
+        Timestamp expiresAt = rs.getTimestamp("expires_at");
+        return new Row(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("key_digest"),
+            rs.getString("scopes"),
+            rs.getInt("rate_limit_per_minute"),
+            rs.getBoolean("enabled"),
+            expiresAt != null ? expiresAt.toLocalDateTime() : null
+        );
+    }
+
+    public record Created(ApiKey apiKey, String rawKey) {
+    }
+
+    private record Row(Long id, String name, String digest, String scopes,
+                       int rateLimitPerMinute, boolean enabled, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * An enabled key as the filter sees it; authorities are SCOPE_&lt;scope&gt;
+     */
+    public record Entry(Long id, String name, List<GrantedAuthority> authorities,
+                        long expiresAtMillis, RateWindow window) {
+
+        boolean isExpired(long now) {
+            return expiresAtMillis > 0 && now >= expiresAtMillis;
+        }
+    }
+
+    static final class RateWindow {
+
+        private final int limit;
+        private long startedAt;
+        private int count;
+
+        RateWindow(int limit) {
+            this.limit = limit;
+        }
+
+        synchronized long tryAcquire(long now) {
+            if (limit == 0) {
+                return 0;
+            }
+            if (now - startedAt >= WINDOW_MILLIS) {
+                startedAt = now;
+                count = 0;
+            }
+            if (count < limit) {
+                count++;
+                return 0;
+            }
+            return Math.max(1, startedAt + WINDOW_MILLIS - now);
+        }
+    }
+}
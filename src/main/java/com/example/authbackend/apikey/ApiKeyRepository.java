@@ -0,0 +1,9 @@
+package com.example.authbackend.apikey;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+
+    List<ApiKey> findAllByOrderByIdDesc();
+}
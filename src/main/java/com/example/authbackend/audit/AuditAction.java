@@ -0,0 +1,14 @@
+package com.example.authbackend.audit;
+
+/**
+ * Audited security events, stored in audit_logs.action
+ */
+public enum AuditAction {
+    SIGNUP,
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    TOKEN_REJECTED,
+    EMAIL_VERIFIED,
+    PASSWORD_RESET_REQUESTED,
+    PASSWORD_RESET
+}
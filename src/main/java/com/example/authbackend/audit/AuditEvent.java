@@ -0,0 +1,18 @@
+package com.example.authbackend.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable audit record handed from request threads to the writer
+ */
+public record AuditEvent(
+    AuditAction action,
+    Long userId,
+    String subject,
+    String ipAddress,
+    String userAgent,
+    boolean success,
+    String errorMessage,
+    LocalDateTime createdAt
+) {
+}
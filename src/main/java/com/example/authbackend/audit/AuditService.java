@@ -0,0 +1,208 @@
+package com.example.authbackend.audit;
+
+import com.example.authbackend.security.RequestInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Write-behind security audit trail
+ *
+ * Request threads only build an event and CAS it into a lock-free ring
+ * buffer. A single writer thread drains the buffer and batch-inserts into
+ * audit_logs when a batch is full or the flush interval elapses. When the
+ * buffer is full the overflow policy drops either the new event or the
+ * oldest queued one, and audit.events.dropped counts the loss; a request
+ * never waits on the database.
+ */
+@Service
+public class AuditService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditService.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO audit_logs (user_id, action, entity_type, entity_id, subject, " +
+        "ip_address, user_agent, success, error_message, created_at) " +
+        "VALUES (?, ?, 'USER', ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy { DROP_NEWEST, DROP_OLDEST }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final AuditRingBuffer<AuditEvent> buffer;
+
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditService(
+        JdbcTemplate jdbcTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${app.audit.enabled:true}") boolean enabled,
+        @Value("${app.audit.buffer-capacity:8192}") int bufferCapacity,
+        @Value("${app.audit.batch-size:200}") int batchSize,
+        @Value("${app.audit.flush-interval-ms:500}") long flushIntervalMs,
+        @Value("${app.audit.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.buffer = new AuditRingBuffer<>(bufferCapacity);
+
+        this.recorded = meterRegistry.counter("audit.events.recorded");
+        this.dropped = meterRegistry.counter("audit.events.dropped");
+        this.written = meterRegistry.counter("audit.events.written");
+        this.failed = meterRegistry.counter("audit.events.failed");
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Flushes whatever is still buffered. Runs after the web server has
+     * drained in-flight requests and before the DataSource is closed.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public void record(AuditAction action, Long userId, String subject,
+                       boolean success, String errorMessage) {
+        if (!enabled) {
+            return;
+        }
+        HttpServletRequest request = RequestInfo.currentRequest();
+        AuditEvent event = new AuditEvent(
+            action,
+            userId,
+            truncate(subject, 255),
+            request != null ? truncate(RequestInfo.clientIp(request), 45) : null,
+            request != null ? request.getHeader("User-Agent") : null,
+            success,
+            errorMessage,
+            LocalDateTime.now()
+        );
+
+        if (!buffer.offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST && buffer.poll() != null && buffer.offer(event)) {
+                dropped.increment();
+                recorded.increment();
+                return;
+            }
+            dropped.increment();
+            return;
+        }
+        recorded.increment();
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long droppedCount() {
+        return (long) dropped.count();
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.nanoTime();
+        while (running || buffer.size() > 0) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long now = System.nanoTime();
+            long sinceFlush = now - lastFlush;
+            boolean due = sinceFlush >= flushIntervalNanos || !running;
+
+            if (batch.size() >= batchSize || (due && !batch.isEmpty())) {
+                write(batch);
+                batch.clear();
+                lastFlush = System.nanoTime();
+            } else if (running) {
+                if (due) {
+                    // Nothing to flush: start a new interval rather than re-checking at once
+                    lastFlush = now;
+                    sinceFlush = 0;
+                }
+                LockSupport.parkNanos(this, flushIntervalNanos - sinceFlush);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(),
+                (PreparedStatement ps, AuditEvent event) -> {
+                    setLong(ps, 1, event.userId());
+                    ps.setString(2, event.action().name());
+                    setLong(ps, 3, event.userId());
+                    ps.setString(4, event.subject());
+                    ps.setString(5, event.ipAddress());
+                    ps.setString(6, event.userAgent());
+                    ps.setBoolean(7, event.success());
+                    ps.setString(8, event.errorMessage());
+                    ps.setTimestamp(9, Timestamp.valueOf(event.createdAt()));
+                });
+            written.increment(batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.warn("Failed to write {} audit events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws java.sql.SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static String truncate(String value, int max) {
+        return value != null && value.length() > max ? value.substring(0, max) : value;
+    }
+}
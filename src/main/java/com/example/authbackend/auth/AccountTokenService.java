@@ -0,0 +1,209 @@
+package com.example.authbackend.auth;
+
+import com.example.authbackend.audit.AuditAction;
+import com.example.authbackend.audit.AuditService;
+import com.example.authbackend.email.EmailService;
+import com.example.authbackend.role.RoleService;
+import com.example.authbackend.security.TokenDigests;
+import com.example.authbackend.session.SessionStore;
+import com.example.authbackend.user.User;
+import com.example.authbackend.user.UserRepository;
+import com.example.authbackend.user.UserStatisticsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Email verification and password reset with one-time tokens
+ *
+ * Only the SHA-256 digest of a token is stored, in the indexed
+ * users.email_verification_token / password_reset_token columns, so a
+ * redemption is one indexed lookup. Expiry is checked when a token is
+ * redeemed; an expired token is cleared then, with no background sweep.
+ * Verification tokens carry their own expiry after a '.', which is safe
+ * to trust because the digest covers the whole token.
+ */
+@Service
+public class AccountTokenService {
+
+    private static final String INVALID_TOKEN = "Invalid or expired token";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EmailService emailService;
+    private final SessionStore sessionStore;
+    private final AuditService auditService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final UserStatisticsService userStatisticsService;
+    private final RoleService roleService;
+    private final FixedWindowRateLimiter resetLimiter;
+
+    private final String frontendUrl;
+    private final long verificationTtlHours;
+    private final long resetTtlMinutes;
+
+    public AccountTokenService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        @Lazy EmailService emailService,
+        SessionStore sessionStore,
+        AuditService auditService,
+        LoginAttemptLimiter loginAttemptLimiter,
+        UserStatisticsService userStatisticsService,
+        RoleService roleService,
+        MeterRegistry meterRegistry,
+        @Value("${app.frontend.url:http://localhost:5173}") String frontendUrl,
+        @Value("${app.auth.verification.ttl-hours:48}") long verificationTtlHours,
+        @Value("${app.auth.password-reset.ttl-minutes:30}") long resetTtlMinutes,
+        @Value("${app.auth.password-reset.max-per-window:3}") int resetMaxPerWindow,
+        @Value("${app.auth.password-reset.window-minutes:15}") long resetWindowMinutes
+    ) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.emailService = emailService;
+        this.sessionStore = sessionStore;
+        this.auditService = auditService;
+        this.loginAttemptLimiter = loginAttemptLimiter;
+        this.userStatisticsService = userStatisticsService;
+        this.roleService = roleService;
+        this.frontendUrl = frontendUrl.endsWith("/") ? frontendUrl.substring(0, frontendUrl.length() - 1) : frontendUrl;
+        this.verificationTtlHours = verificationTtlHours;
+        this.resetTtlMinutes = resetTtlMinutes;
+        this.resetLimiter = new FixedWindowRateLimiter(resetMaxPerWindow, TimeUnit.MINUTES.toMillis(resetWindowMinutes));
+        meterRegistry.gauge("auth.password-reset.limiter.keys", resetLimiter, FixedWindowRateLimiter::size);
+    }
+
+    /**
+     * Stores a fresh verification digest on the (already saved) user and
+     * queues the email
+     */
+    public void issueEmailVerification(User user) {
+        long expiresAt = Instant.now().getEpochSecond() + TimeUnit.HOURS.toSeconds(verificationTtlHours);
+        String token = TokenDigests.newToken() + "." + expiresAt;
+        user.setEmailVerificationToken(TokenDigests.sha256Hex(token));
+        userRepository.save(user);
+        emailService.sendVerificationEmail(user.getEmail(), user.getName(), link("/verify-email", token),
+            LocaleContextHolder.getLocale());
+    }
+
+    public void verifyEmail(String token) {
+        User user = userRepository.findByEmailVerificationToken(TokenDigests.sha256Hex(token)).orElse(null);
+        if (user == null) {
+            throw new RuntimeException(INVALID_TOKEN);
+        }
+        user.setEmailVerificationToken(null);
+        if (verificationExpired(token)) {
+            userRepository.save(user);
+            throw new RuntimeException(INVALID_TOKEN);
+        }
+
+        boolean wasVerified = user.isEmailVerified();
+        user.setEmailVerified(true);
+        userRepository.save(user);
+        if (!wasVerified) {
+            userStatisticsService.onEmailVerified();
+            roleService.onEmailVerified(user);
+        }
+        auditService.record(AuditAction.EMAIL_VERIFIED, user.getId(), user.getEmail(), true, null);
+    }
+
+    /**
+     * Sends a reset link if the account exists. Callers get the same
+     * outcome either way so the endpoint does not reveal registered emails.
+     *
+     * @throws RateLimitedException after too many requests for this email
+     */
+    public void requestPasswordReset(String email) {
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        if (!resetLimiter.tryAcquire(key)) {
+            throw new RateLimitedException(resetLimiter.retryAfterMillis(key));
+        }
+
+        User user = userRepository.findCurrentByEmail(email).orElse(null);
+        if (user == null) {
+            auditService.record(AuditAction.PASSWORD_RESET_REQUESTED, null, email, false, "Unknown email");
+            return;
+        }
+
+        String token = TokenDigests.newToken();
+        user.setPasswordResetToken(TokenDigests.sha256Hex(token));
+        user.setPasswordResetExpiresAt(LocalDateTime.now().plusMinutes(resetTtlMinutes));
+        userRepository.save(user);
+        auditService.record(AuditAction.PASSWORD_RESET_REQUESTED, user.getId(), user.getEmail(), true, null);
+        emailService.sendPasswordResetEmail(user.getEmail(), user.getName(), link("/reset-password", token),
+            resetTtlMinutes, LocaleContextHolder.getLocale());
+    }
+
+    /**
+     * Sets the new password and logs the account out everywhere
+     */
+    public void resetPassword(String token, String newPassword) {
+        User user = userRepository.findByPasswordResetToken(TokenDigests.sha256Hex(token)).orElse(null);
+        if (user == null) {
+            throw new RuntimeException(INVALID_TOKEN);
+        }
+        boolean expired = user.getPasswordResetExpiresAt() == null
+            || user.getPasswordResetExpiresAt().isBefore(LocalDateTime.now());
+        user.setPasswordResetToken(null);
+        user.setPasswordResetExpiresAt(null);
+        if (expired) {
+            userRepository.save(user);
+            auditService.record(AuditAction.PASSWORD_RESET, user.getId(), user.getEmail(), false, "Token expired");
+            throw new RuntimeException(INVALID_TOKEN);
+        }
+
+        user.setPassword(passwordEncoder.encode(newPassword));
+        userRepository.save(user);
+        sessionStore.revokeAll(user.getId(), null);
+        loginAttemptLimiter.onSuccess(user.getEmail());
+        auditService.record(AuditAction.PASSWORD_RESET, user.getId(), user.getEmail(), true, null);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    void evictRateLimitWindows() {
+        resetLimiter.evictExpired();
+    }
+
+    private String link(String path, String token) {
+        return frontendUrl + path + "?token=" + URLEncoder.encode(token, StandardCharsets.UTF_8);
+    }
+
+    private static boolean verificationExpired(String token) {
+        int dot = token.lastIndexOf('.');
+        if (dot < 0) {
+            return true;
+        }
+        try {
+            return Long.parseLong(token.substring(dot + 1)) < Instant.now().getEpochSecond();
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Thrown when a per-email limit is exceeded
+     */
+    public static class RateLimitedException extends RuntimeException {
+
+        private final long retryAfterSeconds;
+
+        public RateLimitedException(long retryAfterMillis) {
+            super("Too many requests, try again later");
+            this.retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis));
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
@@ -5,6 +5,9 @@ import jakarta.validation.Valid;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(
@@ -14,16 +17,47 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final AccountTokenService accountTokenService;
+
+    // Failures answer with a prebuilt response around the shared body bytes
+    private final Map<AuthFailure, ResponseEntity<byte[]>> failureResponses = new EnumMap<>(AuthFailure.class);
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, AccountTokenService accountTokenService) {
         this.authService = authService;
+        this.accountTokenService = accountTokenService;
+        for (AuthFailure failure : AuthFailure.values()) {
+            failureResponses.put(failure, ResponseEntity.status(failure.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(failure.body()));
+        }
     }
 
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@Valid @RequestBody SignupRequest request) {
+        return toResponse(authService.signup(request));
+    }
+
+    @PostMapping("/login")
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+        return toResponse(authService.login(request));
+    }
+
+    /**
+     * Sign in with a provider's ID token (e.g. Google). The token is
+     * verified locally against cached keys; the response carries our own
+     * token, as for a password login.
+     */
+    @PostMapping("/oidc/{provider}")
+    public ResponseEntity<?> oidcLogin(@PathVariable("provider") String provider,
+                                       @Valid @RequestBody OidcLoginRequest request) {
+        return toResponse(authService.oidcLogin(provider, request));
+    }
+
+    @PostMapping("/verify-email")
+    public ResponseEntity<?> verifyEmail(@Valid @RequestBody VerifyEmailRequest request) {
         try {
-            AuthResponse response = authService.signup(request);
-            return ResponseEntity.ok(response);
+            accountTokenService.verifyEmail(request.getToken());
+            return ResponseEntity.ok(new MessageResponse("Email verified"));
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                 new ErrorResponse(ex.getMessage())
@@ -31,18 +65,43 @@ public class AuthController {
         }
     }
 
-    @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    /**
+     * Always 202 for a well-formed request, whether or not the account
+     * exists; 429 once the per-email limit is reached
+     */
+    @PostMapping("/forgot-password")
+    public ResponseEntity<?> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
         try {
-            AuthResponse response = authService.login(request);
-            return ResponseEntity.ok(response);
+            accountTokenService.requestPasswordReset(request.getEmail());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                new MessageResponse("If the account exists, a reset link has been sent")
+            );
+        } catch (AccountTokenService.RateLimitedException ex) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(ex.getMessage()));
+        }
+    }
+
+    @PostMapping("/reset-password")
+    public ResponseEntity<?> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
+        try {
+            accountTokenService.resetPassword(request.getToken(), request.getPassword());
+            return ResponseEntity.ok(new MessageResponse("Password updated"));
         } catch (RuntimeException ex) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                 new ErrorResponse(ex.getMessage())
             );
         }
     }
 
+    private ResponseEntity<?> toResponse(AuthResult result) {
+        if (result instanceof AuthResult.Success success) {
+            return ResponseEntity.ok(success.response());
+        }
+        return failureResponses.get((AuthFailure) result);
+    }
+
     public static class ErrorResponse {
 
         private String message;
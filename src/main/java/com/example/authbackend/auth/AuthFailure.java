@@ -0,0 +1,44 @@
+package com.example.authbackend.auth;
+
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpStatus;
+
+/**
+ * The expected ways signup and login fail, each with its HTTP status and
+ * its {"message": ...} body serialized once at class load
+ */
+public enum AuthFailure implements AuthResult {
+
+    INVALID_CREDENTIALS(HttpStatus.UNAUTHORIZED, "Invalid credentials"),
+    THROTTLED(HttpStatus.TOO_MANY_REQUESTS, "Too many failed attempts, try again later"),
+    ACCOUNT_DISABLED(HttpStatus.FORBIDDEN, "Account disabled"),
+    EMAIL_IN_USE(HttpStatus.CONFLICT, "Email already in use"),
+    REGISTRATION_DISABLED(HttpStatus.FORBIDDEN, "Registration is currently disabled"),
+    UNKNOWN_PROVIDER(HttpStatus.NOT_FOUND, "Unknown identity provider");
+
+    private final HttpStatus status;
+    private final String message;
+    private final byte[] body;
+
+    AuthFailure(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        // Messages are constants without characters that need JSON escaping
+        this.body = ("{\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    /**
+     * The serialized error body; shared, so callers must not modify it
+     */
+    public byte[] body() {
+        return body;
+    }
+}
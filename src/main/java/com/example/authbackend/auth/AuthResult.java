@@ -0,0 +1,14 @@
+package com.example.authbackend.auth;
+
+import com.example.authbackend.auth.dto.AuthResponse;
+
+/**
+ * Outcome of signup and login. Expected failures are returned as an
+ * {@link AuthFailure} constant instead of thrown, so a rejected attempt
+ * costs no exception or stack trace and no allocation for the result.
+ */
+public sealed interface AuthResult permits AuthResult.Success, AuthFailure {
+
+    record Success(AuthResponse response) implements AuthResult {
+    }
+}
@@ -1,16 +1,26 @@
 package com.example.authbackend.auth;
 
+import com.example.authbackend.audit.AuditAction;
+import com.example.authbackend.audit.AuditService;
 import com.example.authbackend.auth.dto.*;
 import com.example.authbackend.email.EmailService;
+import com.example.authbackend.oidc.OidcTokenVerifier;
+import com.example.authbackend.oidc.VerifiedIdentity;
+import com.example.authbackend.outbound.N8nWebhookClient;
+import com.example.authbackend.role.RoleService;
 import com.example.authbackend.security.JwtService;
+import com.example.authbackend.security.TokenDigests;
+import com.example.authbackend.session.SessionStore;
+import com.example.authbackend.settings.AppSettingsService;
+import com.example.authbackend.user.LoginActivityTracker;
 import com.example.authbackend.user.User;
 import com.example.authbackend.user.UserRepository;
+import com.example.authbackend.user.UserStatisticsService;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-
-import java.util.HashMap;
-import java.util.Map;
 
 @Service
 public class AuthService {
@@ -19,26 +29,57 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final EmailService emailService;
-
-    // Optional: configure in application.properties
-    // app.n8n.webhook-url=https://your-n8n-instance/webhook/new-user
-    private final String n8nWebhookUrl;
+    private final AuditService auditService;
+    private final LoginActivityTracker loginActivityTracker;
+    private final UserStatisticsService userStatisticsService;
+    private final RoleService roleService;
+    private final AppSettingsService settingsService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final SessionStore sessionStore;
+    private final AccountTokenService accountTokenService;
+    private final OidcTokenVerifier oidcTokenVerifier;
+
+    private final N8nWebhookClient n8nWebhookClient;
 
     public AuthService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
                        JwtService jwtService,
-                       EmailService emailService,
-                       org.springframework.core.env.Environment env) {
+                       @Lazy EmailService emailService,
+                       AuditService auditService,
+                       LoginActivityTracker loginActivityTracker,
+                       UserStatisticsService userStatisticsService,
+                       RoleService roleService,
+                       AppSettingsService settingsService,
+                       LoginAttemptLimiter loginAttemptLimiter,
+                       SessionStore sessionStore,
+                       AccountTokenService accountTokenService,
+                       OidcTokenVerifier oidcTokenVerifier,
+                       N8nWebhookClient n8nWebhookClient) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.emailService = emailService;
-        this.n8nWebhookUrl = env.getProperty("app.n8n.webhook-url", "");
+        this.auditService = auditService;
+        this.loginActivityTracker = loginActivityTracker;
+        this.userStatisticsService = userStatisticsService;
+        this.roleService = roleService;
+        this.settingsService = settingsService;
+        this.loginAttemptLimiter = loginAttemptLimiter;
+        this.sessionStore = sessionStore;
+        this.accountTokenService = accountTokenService;
+        this.oidcTokenVerifier = oidcTokenVerifier;
+        this.n8nWebhookClient = n8nWebhookClient;
     }
 
-    public AuthResponse signup(SignupRequest request) {
+    public AuthResult signup(SignupRequest request) {
+        if (!settingsService.current().registrationEnabled()) {
+            auditService.record(AuditAction.SIGNUP, null, request.getEmail(), false, "Registration disabled");
+            return AuthFailure.REGISTRATION_DISABLED;
+        }
+
         if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already in use");
+            auditService.record(AuditAction.SIGNUP, null, request.getEmail(), false, "Email already in use");
+            return AuthFailure.EMAIL_IN_USE;
         }
 
         User user = new User();
@@ -46,42 +87,135 @@ public class AuthService {
         user.setEmail(request.getEmail());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
 
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent signup for the same email
+            auditService.record(AuditAction.SIGNUP, null, request.getEmail(), false, "Email already in use");
+            return AuthFailure.EMAIL_IN_USE;
+        }
+        roleService.assignDefaultRoles(user);
+        auditService.record(AuditAction.SIGNUP, user.getId(), user.getEmail(), true, null);
+        userStatisticsService.onSignup(user);
 
         // Send welcome email
-        emailService.sendWelcomeEmail(user.getEmail(), user.getName());
+        emailService.sendWelcomeEmail(user.getEmail(), user.getName(), LocaleContextHolder.getLocale());
+        accountTokenService.issueEmailVerification(user);
 
         // Trigger n8n if configured
-        triggerN8n(user);
+        n8nWebhookClient.notifyNewUser(user.getName(), user.getEmail());
 
-        String token = jwtService.generateToken(user);
-        return new AuthResponse(token, user.getName(), user.getEmail());
+        String token = jwtService.generateToken(user, sessionStore.create(user.getId()));
+        return new AuthResult.Success(new AuthResponse(token, user.getName(), user.getEmail()));
     }
 
-    public AuthResponse login(LoginRequest request) {
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Invalid credentials"));
+    public AuthResult login(LoginRequest request) {
+        if (loginAttemptLimiter.isLocked(request.getEmail())) {
+            auditService.record(AuditAction.LOGIN_FAILURE, null, request.getEmail(), false, "Account locked");
+            return AuthFailure.THROTTLED;
+        }
+
+        User user = userRepository.findCurrentByEmail(request.getEmail()).orElse(null);
+        if (user == null) {
+            // Counted like a wrong password, so lockout does not reveal which addresses exist
+            loginAttemptLimiter.onFailure(request.getEmail());
+            auditService.record(AuditAction.LOGIN_FAILURE, null, request.getEmail(), false, "Unknown email");
+            return AuthFailure.INVALID_CREDENTIALS;
+        }
 
         if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Invalid credentials");
+            loginAttemptLimiter.onFailure(request.getEmail());
+            auditService.record(AuditAction.LOGIN_FAILURE, user.getId(), user.getEmail(), false, "Bad password");
+            return AuthFailure.INVALID_CREDENTIALS;
+        }
+        loginAttemptLimiter.onSuccess(request.getEmail());
+
+        if (!user.isEnabled()) {
+            auditService.record(AuditAction.LOGIN_FAILURE, user.getId(), user.getEmail(), false, "Account disabled");
+            return AuthFailure.ACCOUNT_DISABLED;
         }
 
-        String token = jwtService.generateToken(user);
-        return new AuthResponse(token, user.getName(), user.getEmail());
+        auditService.record(AuditAction.LOGIN_SUCCESS, user.getId(), user.getEmail(), true, null);
+        userStatisticsService.onLogin(user);
+        loginActivityTracker.recordLogin(user.getId());
+
+        String token = jwtService.generateToken(user, sessionStore.create(user.getId()));
+        return new AuthResult.Success(new AuthResponse(token, user.getName(), user.getEmail()));
     }
 
-    private void triggerN8n(User user) {
-        if (n8nWebhookUrl == null || n8nWebhookUrl.isEmpty()) {
-            return;
+    /**
+     * Sign-in with a provider ID token. The provider's verified email
+     * links to an existing account or creates one. An account whose email
+     * was never verified gets a new random password on first link, so a
+     * password set by whoever pre-registered the address stops working.
+     */
+    public AuthResult oidcLogin(String provider, OidcLoginRequest request) {
+        if (!oidcTokenVerifier.isEnabled(provider)) {
+            return AuthFailure.UNKNOWN_PROVIDER;
         }
-        try {
-            RestTemplate rt = new RestTemplate();
-            Map<String, String> body = new HashMap<>();
-            body.put("name", user.getName());
-            body.put("email", user.getEmail());
-            rt.postForEntity(n8nWebhookUrl, body, String.class);
-        } catch (Exception e) {
-            System.out.println("Failed to trigger n8n: " + e.getMessage());
+        VerifiedIdentity identity = oidcTokenVerifier.verify(provider, request.getIdToken(), request.getNonce());
+        if (identity == null) {
+            auditService.record(AuditAction.LOGIN_FAILURE, null, null, false, "Invalid " + provider + " ID token");
+            return AuthFailure.INVALID_CREDENTIALS;
+        }
+
+        User user = userRepository.findCurrentByEmail(identity.email()).orElse(null);
+        if (user == null) {
+            if (!settingsService.current().registrationEnabled()) {
+                auditService.record(AuditAction.SIGNUP, null, identity.email(), false, "Registration disabled");
+                return AuthFailure.REGISTRATION_DISABLED;
+            }
+            user = new User();
+            user.setName(displayName(identity));
+            user.setEmail(identity.email());
+            // No password login until the user sets one through a reset
+            user.setPassword(passwordEncoder.encode(TokenDigests.newToken()));
+            user.setEmailVerified(true);
+            try {
+                userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                // Created concurrently, most likely by a parallel sign-in; link to it
+                user = userRepository.findCurrentByEmail(identity.email()).orElse(null);
+                if (user == null) {
+                    return AuthFailure.EMAIL_IN_USE;
+                }
+                return completeOidcLogin(user);
+            }
+            roleService.assignDefaultRoles(user);
+            auditService.record(AuditAction.SIGNUP, user.getId(), user.getEmail(), true, null);
+            userStatisticsService.onSignup(user);
+            emailService.sendWelcomeEmail(user.getEmail(), user.getName(), LocaleContextHolder.getLocale());
+            n8nWebhookClient.notifyNewUser(user.getName(), user.getEmail());
+        } else if (!user.isEmailVerified() && user.isEnabled()) {
+            user.setEmailVerified(true);
+            user.setPassword(passwordEncoder.encode(TokenDigests.newToken()));
+            user.setEmailVerificationToken(null);
+            userRepository.save(user);
+            roleService.onEmailVerified(user);
+        }
+        return completeOidcLogin(user);
+    }
+
+    private AuthResult completeOidcLogin(User user) {
+        if (!user.isEnabled()) {
+            auditService.record(AuditAction.LOGIN_FAILURE, user.getId(), user.getEmail(), false, "Account disabled");
+            return AuthFailure.ACCOUNT_DISABLED;
+        }
+        auditService.record(AuditAction.LOGIN_SUCCESS, user.getId(), user.getEmail(), true, null);
+        userStatisticsService.onLogin(user);
+        loginActivityTracker.recordLogin(user.getId());
+
+        String token = jwtService.generateToken(user, sessionStore.create(user.getId()));
+        return new AuthResult.Success(new AuthResponse(token, user.getName(), user.getEmail()));
+    }
+
+    private static String displayName(VerifiedIdentity identity) {
+        String name = identity.name();
+        if (name == null || name.isBlank()) {
+            int at = identity.email().indexOf('@');
+            name = at > 0 ? identity.email().substring(0, at) : identity.email();
         }
+        name = name.trim();
+        return name.length() > 50 ? name.substring(0, 50) : name;
     }
 }
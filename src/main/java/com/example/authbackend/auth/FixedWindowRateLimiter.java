@@ -0,0 +1,53 @@
+package com.example.authbackend.auth;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory fixed-window limit per key: at most maxPerWindow permits per
+ * key in each window. One map entry per active key; call evictExpired
+ * periodically to drop keys whose window has passed.
+ */
+class FixedWindowRateLimiter {
+
+    private final int maxPerWindow;
+    private final long windowMillis;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    FixedWindowRateLimiter(int maxPerWindow, long windowMillis) {
+        this.maxPerWindow = maxPerWindow;
+        this.windowMillis = windowMillis;
+    }
+
+    boolean tryAcquire(String key) {
+        long now = System.currentTimeMillis();
+        Window window = windows.compute(key, (k, current) ->
+            current == null || now - current.startedAt >= windowMillis
+                ? new Window(now, 1)
+                : new Window(current.startedAt, current.count + 1));
+        return window.count <= maxPerWindow;
+    }
+
+    /**
+     * @return milliseconds until the key's window resets, 0 if not limited
+     */
+    long retryAfterMillis(String key) {
+        Window window = windows.get(key);
+        if (window == null || window.count <= maxPerWindow) {
+            return 0;
+        }
+        return Math.max(0, window.startedAt + windowMillis - System.currentTimeMillis());
+    }
+
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        windows.values().removeIf(window -> now - window.startedAt >= windowMillis);
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    private record Window(long startedAt, int count) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.authbackend.auth;
+
+import com.example.authbackend.settings.AppSettings;
+import com.example.authbackend.settings.AppSettingsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-email login lockout driven by login.max.attempts and
+ * account.lockout.minutes from app_settings
+ *
+ * Failures are counted in memory, so a locked login is refused before the
+ * BCrypt check and without a database write. Limits are read from the
+ * current settings snapshot on each failure, so retuning them applies to
+ * the next attempt. Counts are per instance.
+ *
+ * Addresses without an account are counted like any other, so a locked
+ * response says nothing about whether the account exists. An entry
+ * expires one lockout window after its last failure. Unlocked entries
+ * are capped at app.security.login-attempts.max-entries and Caffeine
+ * evicts past that; a locked entry weighs nothing, so it is never evicted
+ * and stays until its lock ends.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private final AppSettingsService settingsService;
+    private final Cache<String, Attempts> attempts;
+    private final Counter lockouts;
+    private final Counter evictions;
+
+    public LoginAttemptLimiter(AppSettingsService settingsService,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.security.login-attempts.max-entries:100000}") int maxEntries) {
+        this.settingsService = settingsService;
+        this.lockouts = meterRegistry.counter("login.lockouts");
+        this.evictions = meterRegistry.counter("login.attempts.evicted");
+        this.attempts = Caffeine.newBuilder()
+            .maximumWeight(maxEntries)
+            .<String, Attempts>weigher((key, entry) -> entry.lockedUntil > 0 ? 0 : 1)
+            .expireAfter(new UntilExpired())
+            .evictionListener((key, entry, cause) -> {
+                if (cause == RemovalCause.SIZE) {
+                    evictions.increment();
+                }
+            })
+            .build();
+        meterRegistry.gauge("login.attempts.tracked", List.of(), attempts, Cache::estimatedSize);
+    }
+
+    public boolean isLocked(String email) {
+        Attempts entry = attempts.getIfPresent(key(email));
+        return entry != null && entry.lockedUntil > System.currentTimeMillis();
+    }
+
+    /**
+     * Records a failed login, whether or not the address has an account
+     */
+    public void onFailure(String email) {
+        AppSettings settings = settingsService.current();
+        long now = System.currentTimeMillis();
+        long window = TimeUnit.MINUTES.toMillis(settings.lockoutMinutes());
+
+        Attempts updated = attempts.asMap().compute(key(email), (k, previous) -> {
+            // Failures older than the lockout window no longer count
+            int failures = previous == null || now - previous.lastFailure > window ? 1 : previous.failures + 1;
+            long lockedUntil = failures >= settings.loginMaxAttempts() ? now + window : 0;
+            return new Attempts(failures, now, lockedUntil, now + window);
+        });
+        if (updated.failures == settings.loginMaxAttempts()) {
+            lockouts.increment();
+        }
+    }
+
+    public void onSuccess(String email) {
+        attempts.invalidate(key(email));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    void evictExpired() {
+        attempts.cleanUp();
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Attempts(int failures, long lastFailure, long lockedUntil, long expiresAt) {
+    }
+
+    /**
+     * Expires an entry at its expiresAt; reads do not extend it
+     */
+    private static final class UntilExpired implements Expiry<String, Attempts> {
+
+        @Override
+        public long expireAfterCreate(String key, Attempts entry, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.expiresAt - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Attempts entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Attempts entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
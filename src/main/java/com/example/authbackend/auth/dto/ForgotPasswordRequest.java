@@ -0,0 +1,22 @@
+package com.example.authbackend.auth.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+
+public class ForgotPasswordRequest {
+
+    @NotBlank
+    @Email
+    private String email;
+
+    public ForgotPasswordRequest() {
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.authbackend.auth.dto;
+
+/**
+ * Body of a successful request that has nothing to return but a message
+ */
+public class MessageResponse {
+
+    private String message;
+
+    public MessageResponse() {
+    }
+
+    public MessageResponse(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
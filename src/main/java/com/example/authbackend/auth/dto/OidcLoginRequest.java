@@ -0,0 +1,32 @@
+package com.example.authbackend.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class OidcLoginRequest {
+
+    @NotBlank
+    private String idToken;
+
+    // The nonce the client put in the authorization request; must match the token's
+    @NotBlank
+    private String nonce;
+
+    public OidcLoginRequest() {
+    }
+
+    public String getIdToken() {
+        return idToken;
+    }
+
+    public void setIdToken(String idToken) {
+        this.idToken = idToken;
+    }
+
+    public String getNonce() {
+        return nonce;
+    }
+
+    public void setNonce(String nonce) {
+        this.nonce = nonce;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.authbackend.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class VerifyEmailRequest {
+
+    @NotBlank
+    private String token;
+
+    public VerifyEmailRequest() {
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.logging.MdcTaskDecorator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Enables @Async for work that must not hold a request thread (outbound
+ * email). The queue is bounded: when it is full the submitting request
+ * sends the message itself, counted in email.executor.caller-runs, so a
+ * backlog slows signups down instead of losing verification and reset
+ * mail. Only messages submitted during shutdown are dropped, and those
+ * are logged and counted in email.executor.dropped. Bulk campaigns
+ * get their own single thread so a long send never starves transactional
+ * mail or the scheduler. Batch token introspection fans out on a
+ * CPU-sized pool that runs work on the caller when it is saturated.
+ * Request-driven pools carry the caller's MDC so their logs keep the
+ * request id.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    @Bean(name = "emailExecutor")
+    public ThreadPoolTaskExecutor emailExecutor(
+        MeterRegistry meterRegistry,
+        @Value("${app.email.executor.threads:2}") int threads,
+        @Value("${app.email.executor.queue-capacity:500}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("email-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        Counter callerRuns = meterRegistry.counter("email.executor.caller-runs");
+        Counter dropped = meterRegistry.counter("email.executor.dropped");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            if (pool.isShutdown()) {
+                dropped.increment();
+                log.warn("Email executor is shut down, dropping a message");
+                return;
+            }
+            callerRuns.increment();
+            log.warn("Email queue full ({} queued), sending on the caller's thread", pool.getQueue().size());
+            task.run();
+        });
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    @Bean(name = "campaignExecutor")
+    public ThreadPoolTaskExecutor campaignExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("email-campaign-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean(name = "introspectionExecutor")
+    public ThreadPoolTaskExecutor introspectionExecutor(
+        @Value("${app.introspection.threads:0}") int threads
+    ) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("introspect-");
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(size * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return executor;
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.authbackend.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,37 +21,49 @@ import javax.sql.DataSource;
  */
 @Configuration
 @Order(1) // Highest priority
+@ConditionalOnProperty(name = "app.datasource.startup-mode", havingValue = "sequential", matchIfMissing = true)
 public class H2DataSourceConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(H2DataSourceConfig.class);
+
+    @Value("${app.datasource.h2.max-connections:10}")
+    private int maxConnections;
+
+    @Value("${app.datasource.h2.backup-max-connections:2}")
+    private int backupMaxConnections;
+
     @Bean
     @Primary
     @ConditionalOnMissingBean(DataSource.class)
     public DataSource h2DataSource() {
-        System.out.println("=== H2 DataSource Configuration ===");
-        System.out.println("Creating failsafe H2 database connection");
-        System.out.println("URL: jdbc:h2:mem:authdb");
-        System.out.println("Driver: org.h2.Driver");
-        System.out.println("Mode: In-Memory with MySQL compatibility");
-        System.out.println("===================================");
-
-        return DataSourceBuilder.create()
+        log.info("Creating failsafe H2 DataSource: url=jdbc:h2:mem:authdb, in-memory with MySQL compatibility");
+
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
             .url("jdbc:h2:mem:authdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE")
             .driverClassName("org.h2.Driver")
             .username("sa")
             .password("")
             .build();
+        dataSource.setPoolName("H2Pool");
+        dataSource.setMaximumPoolSize(maxConnections);
+        return dataSource;
     }
 
     @Bean
     @ConditionalOnMissingBean(name = "backupDataSource")
     public DataSource backupDataSource() {
-        System.out.println("Creating backup H2 DataSource");
+        log.info("Creating backup H2 DataSource");
 
-        return DataSourceBuilder.create()
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
             .url("jdbc:h2:mem:backupdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
             .driverClassName("org.h2.Driver")
             .username("sa")
             .password("")
             .build();
+        dataSource.setPoolName("BackupH2Pool");
+        dataSource.setMaximumPoolSize(backupMaxConnections);
+        return dataSource;
     }
 }
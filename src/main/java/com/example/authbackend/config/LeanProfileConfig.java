@@ -0,0 +1,68 @@
+package com.example.authbackend.config;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+/**
+ * Memory-lean runtime profile (SPRING_PROFILES_ACTIVE=...,lean)
+ *
+ * Marks the optional beans listed in app.lean.lazy-beans as lazy so they
+ * are only built on first use. Secondary pools in that list are also
+ * removed from autowiring: otherwise Map/ObjectProvider&lt;DataSource&gt;
+ * consumers (health, pool metrics, telemetry) would instantiate them at
+ * startup anyway.
+ */
+@Configuration
+@Profile("lean")
+public class LeanProfileConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor leanLazyBeans() {
+        return new LazyBeansPostProcessor();
+    }
+
+    static class LazyBeansPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+        private Set<String> lazyBeans = Set.of();
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            String names = environment.getProperty(
+                "app.lean.lazy-beans",
+                "emailService,backupDataSource,fallbackH2DataSource"
+            );
+            this.lazyBeans = Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+        }
+
+        @Override
+        public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory)
+            throws BeansException {
+            for (String name : lazyBeans) {
+                if (!beanFactory.containsBeanDefinition(name)) {
+                    continue;
+                }
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                definition.setLazyInit(true);
+
+                Class<?> type = beanFactory.getType(name, false);
+                if (type != null && DataSource.class.isAssignableFrom(type) && !definition.isPrimary()) {
+                    definition.setAutowireCandidate(false);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.config.MySQLDataSourceFactory.DatabaseConnectionInfo;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * Fast-fail DataSource startup mode (app.datasource.startup-mode=probe)
+ *
+ * Instead of building a MySQL pool, an H2 pool and a backup pool one after
+ * another, every candidate is probed in parallel with a single raw
+ * connection under a tight timeout. Only the highest-priority candidate
+ * that answered gets a Hikari pool. Schema scripts are skipped when the
+ * stored version marker matches the checksum of the packaged scripts.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.startup-mode", havingValue = "probe")
+@EnableConfigurationProperties(SqlInitializationProperties.class)
+public class ProbingDataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ProbingDataSourceConfig.class);
+
+    private final Environment environment;
+    private final MySQLDataSourceFactory dataSourceFactory;
+    private final StartupPhaseTimings startupTimings;
+
+    public ProbingDataSourceConfig(Environment environment,
+                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                   StartupPhaseTimings startupTimings) {
+        this.environment = environment;
+        this.dataSourceFactory = new MySQLDataSourceFactory(environment, meterRegistry);
+        this.startupTimings = startupTimings;
+    }
+
+    @Bean
+    @Primary
+    public DataSource probedDataSource() {
+        long timeoutMs = Long.parseLong(environment.getProperty("app.datasource.probe.timeout-ms", "2000"));
+        List<Candidate> candidates = candidates();
+
+        long probeStart = System.nanoTime();
+        Candidate winner = probe(candidates, timeoutMs);
+        startupTimings.record("datasource.probe", probeStart);
+
+        if (winner == null) {
+            throw new IllegalStateException(
+                "No datasource candidate answered within " + timeoutMs + " ms: " + candidates
+            );
+        }
+
+        log.info("Probed DataSource: winner={}, url={}, poolSize={}",
+            winner.name(),
+            dataSourceFactory.maskPassword(winner.config().getJdbcUrl()),
+            winner.config().getMaximumPoolSize());
+
+        long poolStart = System.nanoTime();
+        HikariDataSource dataSource = new HikariDataSource(winner.config());
+        startupTimings.record("datasource.pool", poolStart);
+        return dataSource;
+    }
+
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer dataSourceScriptDatabaseInitializer(
+        DataSource dataSource,
+        SqlInitializationProperties properties
+    ) {
+        return new VersionedScriptInitializer(dataSource, properties, startupTimings);
+    }
+
+    /**
+     * Candidates in priority order: configured MySQL first, then the H2 fallback
+     */
+    private List<Candidate> candidates() {
+        List<Candidate> candidates = new ArrayList<>();
+        if (dataSourceFactory.isConfigured()) {
+            DatabaseConnectionInfo info = dataSourceFactory.parseConnectionInfo();
+            candidates.add(new Candidate("mysql", 0, dataSourceFactory.mysqlConfig(info)));
+        }
+        if (Boolean.parseBoolean(environment.getProperty("app.database.fallback.enabled", "true"))) {
+            candidates.add(new Candidate("h2", 1, dataSourceFactory.fallbackH2Config()));
+        }
+        return candidates;
+    }
+
+    private Candidate probe(List<Candidate> candidates, long timeoutMs) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(candidates.size(), runnable -> {
+            Thread thread = new Thread(runnable, "datasource-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (Candidate candidate : candidates) {
+                results.add(executor.submit(() -> canConnect(candidate.config(), timeoutMs)));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            List<Candidate> byPriority = new ArrayList<>(candidates);
+            byPriority.sort(Comparator.comparingInt(Candidate::priority));
+            for (Candidate candidate : byPriority) {
+                Future<Boolean> result = results.get(candidates.indexOf(candidate));
+                try {
+                    long remaining = Math.max(0, deadline - System.nanoTime());
+                    if (result.get(remaining, TimeUnit.NANOSECONDS)) {
+                        return candidate;
+                    }
+                } catch (Exception e) {
+                    log.warn("Datasource probe '{}' failed: {}", candidate.name(), e.toString());
+                }
+            }
+            return null;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean canConnect(HikariConfig config, long timeoutMs) throws Exception {
+        Class.forName(config.getDriverClassName());
+        Properties props = new Properties();
+        if (config.getUsername() != null) {
+            props.setProperty("user", config.getUsername());
+        }
+        if (config.getPassword() != null) {
+            props.setProperty("password", config.getPassword());
+        }
+        if (config.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            // H2 rejects unknown connection settings, so only MySQL gets these
+            props.setProperty("connectTimeout", String.valueOf(timeoutMs));
+            props.setProperty("socketTimeout", String.valueOf(timeoutMs));
+        }
+        try (Connection connection = DriverManager.getConnection(config.getJdbcUrl(), props)) {
+            return connection.isValid((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs)));
+        }
+    }
+
+    private record Candidate(String name, int priority, HikariConfig config) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Runs the configured SQL scripts only when their checksum differs from
+     * the marker stored by the previous successful run. The marker is only
+     * stored when every statement succeeded, so a statement that failed
+     * under continue-on-error is retried on the next boot.
+     */
+    static class VersionedScriptInitializer extends SqlDataSourceScriptDatabaseInitializer {
+
+        private static final String MARKER_KEY = "sql-init";
+
+        private final DataSource dataSource;
+        private final SqlInitializationProperties properties;
+        private final StartupPhaseTimings startupTimings;
+        private int failedStatements;
+
+        VersionedScriptInitializer(DataSource dataSource,
+                                   SqlInitializationProperties properties,
+                                   StartupPhaseTimings startupTimings) {
+            super(dataSource, properties);
+            this.dataSource = dataSource;
+            this.properties = properties;
+            this.startupTimings = startupTimings;
+        }
+
+        @Override
+        public boolean initializeDatabase() {
+            long start = System.nanoTime();
+            try {
+                if (!platformMatches()) {
+                    log.info("Schema init skipped: scripts target platform '{}'", properties.getPlatform());
+                    return false;
+                }
+                String checksum = scriptChecksum();
+                if (checksum.equals(storedChecksum())) {
+                    log.info("Schema init skipped: version marker {} matches", checksum.substring(0, 12));
+                    return false;
+                }
+                failedStatements = 0;
+                boolean initialized = super.initializeDatabase();
+                if (failedStatements == 0) {
+                    storeChecksum(checksum);
+                } else {
+                    log.warn("Schema init: {} statements failed, version marker not stored", failedStatements);
+                }
+                return initialized;
+            } finally {
+                startupTimings.record("schema.init", start);
+            }
+        }
+
+        /**
+         * With continue-on-error, ResourceDatabasePopulator skips failed
+         * statements without reporting them. Run each script through
+         * ScriptUtils on a connection whose statements count the failures
+         * instead. Without continue-on-error the first failure throws and the
+         * marker is never stored.
+         */
+        @Override
+        protected void runScripts(Scripts scripts) {
+            if (!scripts.isContinueOnError()) {
+                super.runScripts(scripts);
+                return;
+            }
+            String encoding = scripts.getEncoding() != null ? scripts.getEncoding().name() : null;
+            try (Connection connection = dataSource.getConnection()) {
+                Connection counting = countingFailures(connection);
+                for (Resource script : scripts) {
+                    ScriptUtils.executeSqlScript(counting, new EncodedResource(script, encoding), true, false,
+                        ScriptUtils.DEFAULT_COMMENT_PREFIXES, scripts.getSeparator(),
+                        ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+                        ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Unable to run SQL init scripts", e);
+            }
+        }
+
+        private Connection countingFailures(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        return Proxy.newProxyInstance(
+                            Statement.class.getClassLoader(), new Class<?>[] {Statement.class},
+                            (statementProxy, statementMethod, statementArgs) -> {
+                                try {
+                                    return invoke(statement, statementMethod, statementArgs);
+                                } catch (SQLException e) {
+                                    if (statementMethod.getName().startsWith("execute")) {
+                                        failedStatements++;
+                                    }
+                                    throw e;
+                                }
+                            });
+                    }
+                    return result;
+                });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private boolean platformMatches() {
+            String platform = properties.getPlatform();
+            if (platform == null || "all".equals(platform)) {
+                return true;
+            }
+            try (Connection connection = dataSource.getConnection()) {
+                String product = connection.getMetaData().getDatabaseProductName();
+                return product != null && product.toLowerCase().contains(platform.toLowerCase());
+            } catch (Exception e) {
+                return true;
+            }
+        }
+
+        private String scriptChecksum() {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+                List<Resource> scripts = new ArrayList<>();
+                scripts.addAll(Arrays.asList(resolver.getResources("classpath*:schema*.sql")));
+                scripts.addAll(Arrays.asList(resolver.getResources("classpath*:data*.sql")));
+                scripts.sort(Comparator.comparing(Resource::getDescription));
+                for (Resource script : scripts) {
+                    digest.update(script.getDescription().getBytes(StandardCharsets.UTF_8));
+                    try (InputStream in = script.getInputStream()) {
+                        digest.update(in.readAllBytes());
+                    }
+                }
+                return HexFormat.of().formatHex(digest.digest());
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to checksum SQL init scripts", e);
+            }
+        }
+
+        private String storedChecksum() {
+            try (Connection connection = dataSource.getConnection()) {
+                ensureMarkerTable(connection);
+                try (PreparedStatement ps = connection.prepareStatement(
+                    "SELECT checksum FROM schema_version_marker WHERE marker_key = ?")) {
+                    ps.setString(1, MARKER_KEY);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        return rs.next() ? rs.getString(1) : null;
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Schema version marker unavailable: {}", e.getMessage());
+                return null;
+            }
+        }
+
+        private void storeChecksum(String checksum) {
+            try (Connection connection = dataSource.getConnection()) {
+                ensureMarkerTable(connection);
+                try (PreparedStatement delete = connection.prepareStatement(
+                         "DELETE FROM schema_version_marker WHERE marker_key = ?");
+                     PreparedStatement insert = connection.prepareStatement(
+                         "INSERT INTO schema_version_marker (marker_key, checksum) VALUES (?, ?)")) {
+                    delete.setString(1, MARKER_KEY);
+                    delete.executeUpdate();
+                    insert.setString(1, MARKER_KEY);
+                    insert.setString(2, checksum);
+                    insert.executeUpdate();
+                }
+            } catch (Exception e) {
+                log.warn("Failed to store schema version marker: {}", e.getMessage());
+            }
+        }
+
+        private void ensureMarkerTable(Connection connection) throws Exception {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(
+                    "CREATE TABLE IF NOT EXISTS schema_version_marker (" +
+                    "marker_key VARCHAR(64) PRIMARY KEY, " +
+                    "checksum VARCHAR(64) NOT NULL, " +
+                    "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"
+                );
+            }
+        }
+    }
+}
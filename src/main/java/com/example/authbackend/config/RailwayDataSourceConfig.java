@@ -2,6 +2,8 @@ package com.example.authbackend.config;
 
 import java.net.URI;
 import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
@@ -20,6 +22,8 @@ import org.springframework.core.env.Environment;
 @Profile("railway-disabled") // Profile that will never be activated
 public class RailwayDataSourceConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(RailwayDataSourceConfig.class);
+
     private final Environment environment;
 
     public RailwayDataSourceConfig(Environment environment) {
@@ -59,14 +63,8 @@ public class RailwayDataSourceConfig {
                     database
                 );
 
-                System.out.println("Railway DataSource Configuration:");
-                System.out.println(
-                    "Original MySQL URL: " +
-                        mysqlUrl.replaceAll(":[^:@]+@", ":****@")
-                );
-                System.out.println("Converted JDBC URL: " + jdbcUrl);
-                System.out.println("Username: " + username);
-                System.out.println("Database: " + database);
+                log.info("Railway DataSource: mysqlUrl={}, jdbcUrl={}, username={}, database={}",
+                    mysqlUrl.replaceAll(":[^:@]+@", ":****@"), jdbcUrl, username, database);
 
                 return DataSourceBuilder.create()
                     .url(jdbcUrl)
@@ -75,10 +73,7 @@ public class RailwayDataSourceConfig {
                     .driverClassName("com.mysql.cj.jdbc.Driver")
                     .build();
             } catch (Exception e) {
-                System.err.println(
-                    "Error parsing Railway MySQL URL: " + e.getMessage()
-                );
-                e.printStackTrace();
+                log.error("Error parsing Railway MySQL URL", e);
                 throw new RuntimeException(
                     "Failed to configure Railway DataSource",
                     e
@@ -87,9 +82,7 @@ public class RailwayDataSourceConfig {
         }
 
         // Fallback to standard configuration
-        System.out.println(
-            "MYSQL_URL not found, falling back to standard configuration"
-        );
+        log.info("MYSQL_URL not found, falling back to standard configuration");
         return DataSourceBuilder.create()
             .url(
                 environment.getProperty(
@@ -111,7 +104,7 @@ public class RailwayDataSourceConfig {
         matchIfMissing = false
     ) // Disabled property
     public DataSource standardDataSource() {
-        System.out.println("Using standard DATABASE_URL configuration");
+        log.info("Using standard DATABASE_URL configuration");
 
         String databaseUrl = environment.getProperty("DATABASE_URL");
         String username = environment.getProperty("DATABASE_USERNAME", "root");
@@ -130,14 +123,9 @@ public class RailwayDataSourceConfig {
                 "?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&createDatabaseIfNotExist=true";
         }
 
-        System.out.println("Standard DataSource Configuration:");
-        System.out.println(
-            "Database URL: " +
-                (databaseUrl != null
-                    ? databaseUrl.replaceAll(":[^:@]+@", ":****@")
-                    : "null")
-        );
-        System.out.println("Username: " + username);
+        log.info("Standard DataSource: url={}, username={}",
+            databaseUrl != null ? databaseUrl.replaceAll(":[^:@]+@", ":****@") : null,
+            username);
 
         return DataSourceBuilder.create()
             .url(databaseUrl)
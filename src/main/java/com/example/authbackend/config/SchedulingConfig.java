@@ -0,0 +1,12 @@
+package com.example.authbackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background tasks (pool sampling, periodic flushes)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
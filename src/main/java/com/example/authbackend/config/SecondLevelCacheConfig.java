@@ -0,0 +1,108 @@
+package com.example.authbackend.config;
+
+import com.example.authbackend.user.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache for User, on a local Caffeine JCache
+ *
+ * The "users" entity region and the "users-by-email" natural-id region are
+ * created here with a maximum size and an expire-after-write, then handed
+ * to Hibernate as its JCache CacheManager; missing regions fail startup. Writes through JPA update the
+ * cache (read-write strategy); JDBC writes to users evict the row
+ * themselves. The cache is per instance, so ttl-seconds bounds how long a
+ * change made on another replica can go unseen.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.users.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    private static final String CAFFEINE_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+    private static final List<String> REGIONS = List.of(User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager userCacheManager(
+        @Value("${app.cache.users.max-entries:10000}") long maxEntries,
+        @Value("${app.cache.users.ttl-seconds:300}") long ttlSeconds
+    ) {
+        CacheManager cacheManager = Caching.getCachingProvider(CAFFEINE_PROVIDER).getCacheManager();
+        for (String region : REGIONS) {
+            if (cacheManager.getCache(region) == null) {
+                CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+                config.setMaximumSize(OptionalLong.of(maxEntries));
+                config.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+                cacheManager.createCache(region, config);
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager userCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", userCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.put("hibernate.generate_statistics", true);
+        };
+    }
+
+    /**
+     * cache.gets{result=hit|miss}, cache.puts and cache.size per region,
+     * following Micrometer's cache meter names
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, CacheManager userCacheManager) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : REGIONS) {
+                counter(registry, statistics, region, "cache.gets", "hit", CacheRegionStatistics::getHitCount);
+                counter(registry, statistics, region, "cache.gets", "miss", CacheRegionStatistics::getMissCount);
+                counter(registry, statistics, region, "cache.puts", null, CacheRegionStatistics::getPutCount);
+                // JCache regions do not report an element count; ask Caffeine
+                Cache<?, ?> cache = userCacheManager.getCache(region).unwrap(Cache.class);
+                Gauge.builder("cache.size", cache, Cache::estimatedSize)
+                    .tag("cache", region)
+                    .register(registry);
+            }
+        };
+    }
+
+    private static void counter(MeterRegistry registry, Statistics statistics,
+                                String region, String name, String result,
+                                ToDoubleFunction<CacheRegionStatistics> value) {
+        FunctionCounter.Builder<Statistics> builder = FunctionCounter
+            .builder(name, statistics, s -> regionValue(s, region, value))
+            .tag("cache", region);
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        builder.register(registry);
+    }
+
+    private static double regionValue(Statistics statistics, String region, ToDoubleFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics != null ? value.applyAsDouble(regionStatistics) : 0;
+    }
+}
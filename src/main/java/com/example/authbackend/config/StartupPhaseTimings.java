@@ -0,0 +1,41 @@
+package com.example.authbackend.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects named startup phase durations and prints them once the
+ * application is ready to serve traffic
+ */
+@Component
+public class StartupPhaseTimings {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupPhaseTimings.class);
+
+    private final Map<String, Long> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public void record(String phase, long startedNanos) {
+        phases.put(phase, (System.nanoTime() - startedNanos) / 1_000_000);
+    }
+
+    public Map<String, Long> phases() {
+        synchronized (phases) {
+            return new LinkedHashMap<>(phases);
+        }
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        phases.put("context.ready", event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1);
+        phases.put("jvm.uptime", ManagementFactory.getRuntimeMXBean().getUptime());
+
+        log.info("Startup phase timings (ms): {}", phases());
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.authbackend.controller;
 
 import com.example.authbackend.health.DatabaseHealthIndicator;
+import com.example.authbackend.warmup.JitWarmup;
 import java.sql.Connection;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,6 +25,9 @@ public class HealthController {
     @Autowired(required = false)
     private DatabaseHealthIndicator databaseHealthIndicator;
 
+    @Autowired(required = false)
+    private JitWarmup jitWarmup;
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> healthData = new HashMap<>();
@@ -68,6 +72,11 @@ public class HealthController {
             }
             healthData.put("database", database);
 
+            // Informational; only /actuator/health/readiness waits for the warm-up
+            if (jitWarmup != null) {
+                healthData.put("warmup", jitWarmup.status());
+            }
+
             // Configuration check
             Map<String, Object> config = new HashMap<>();
             config.put(
@@ -85,7 +94,7 @@ public class HealthController {
             healthData.put("configuration", config);
 
             // Return appropriate status
-            if ("DEGRADED".equals(healthData.get("status"))) {
+            if (!"UP".equals(healthData.get("status"))) {
                 return ResponseEntity.status(503).body(healthData);
             }
 
@@ -0,0 +1,234 @@
+package com.example.authbackend.diagnostics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Reads a finished recording once, event by event, and aggregates:
+ *
+ * - allocations by the first frame outside the JDK, so the site names the
+ *   library or our code (Jackson, Hibernate, BCrypt, jjwt) rather than
+ *   Arrays.copyOf
+ * - contended monitor entries by monitor class
+ * - CPU samples by top method and by endpoint, using the request
+ *   intervals recorded by {@link RequestProfilingFilter}
+ */
+final class JfrSummary {
+
+    private static final double MB = 1024 * 1024;
+
+    private final Map<String, long[]> allocations = new HashMap<>();
+    private final Map<String, long[]> monitors = new HashMap<>();
+    private final Map<String, Long> hotMethods = new HashMap<>();
+    private final Map<Long, List<long[]>> samplesByThread = new HashMap<>();
+    private final Map<Long, List<Request>> requestsByThread = new HashMap<>();
+    private final Map<String, long[]> endpoints = new HashMap<>();
+    private long executionSamples;
+    private Instant first;
+    private Instant last;
+
+    private JfrSummary() {}
+
+    static Map<String, Object> read(Path file, int top) throws IOException {
+        JfrSummary summary = new JfrSummary();
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                summary.accept(recording.readEvent());
+            }
+        }
+        return summary.toMap(top);
+    }
+
+    private void accept(RecordedEvent event) {
+        if (first == null || event.getStartTime().isBefore(first)) {
+            first = event.getStartTime();
+        }
+        if (last == null || event.getEndTime().isAfter(last)) {
+            last = event.getEndTime();
+        }
+        switch (event.getEventType().getName()) {
+            case "jdk.ObjectAllocationSample" -> {
+                long[] site = allocations.computeIfAbsent(site(event.getStackTrace()), k -> new long[2]);
+                site[0] += event.getLong("weight");
+                site[1]++;
+            }
+            case "jdk.JavaMonitorEnter" -> {
+                String monitor = event.getClass("monitorClass") != null
+                    ? event.getClass("monitorClass").getName()
+                    : "unknown";
+                long[] entry = monitors.computeIfAbsent(monitor, k -> new long[2]);
+                entry[0]++;
+                entry[1] += event.getDuration().toNanos();
+            }
+            case "jdk.ExecutionSample" -> {
+                executionSamples++;
+                hotMethods.merge(topFrame(event.getStackTrace()), 1L, Long::sum);
+                RecordedThread thread = event.getThread("sampledThread");
+                if (thread != null) {
+                    samplesByThread.computeIfAbsent(thread.getJavaThreadId(), k -> new ArrayList<>())
+                        .add(new long[] {nanos(event.getStartTime())});
+                }
+            }
+            case RequestEvent.NAME -> {
+                String endpoint = event.getString("endpoint");
+                long[] entry = endpoints.computeIfAbsent(endpoint, k -> new long[3]);
+                entry[1]++;
+                entry[2] += event.getDuration().toNanos();
+                RecordedThread thread = event.getThread();
+                if (thread != null) {
+                    requestsByThread.computeIfAbsent(thread.getJavaThreadId(), k -> new ArrayList<>())
+                        .add(new Request(nanos(event.getStartTime()), nanos(event.getEndTime()), entry));
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Charges each execution sample to the request its thread was serving
+     * at that moment; samples outside any request are left uncharged
+     */
+    private void attributeSamples() {
+        for (Map.Entry<Long, List<long[]>> thread : samplesByThread.entrySet()) {
+            List<Request> requests = requestsByThread.get(thread.getKey());
+            if (requests == null) {
+                continue;
+            }
+            requests.sort(Comparator.comparingLong(Request::start));
+            for (long[] sample : thread.getValue()) {
+                Request request = covering(requests, sample[0]);
+                if (request != null) {
+                    request.totals()[0]++;
+                }
+            }
+        }
+    }
+
+    private static Request covering(List<Request> requests, long time) {
+        int low = 0;
+        int high = requests.size() - 1;
+        Request candidate = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (requests.get(mid).start() <= time) {
+                candidate = requests.get(mid);
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return candidate != null && time <= candidate.end() ? candidate : null;
+    }
+
+    private Map<String, Object> toMap(int top) {
+        attributeSamples();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("from", first);
+        summary.put("to", last);
+        summary.put("executionSamples", executionSamples);
+
+        summary.put("allocationSites", topEntries(allocations, top, (site, totals) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("site", site);
+            row.put("mb", round(totals[0] / MB));
+            row.put("samples", totals[1]);
+            return row;
+        }));
+
+        summary.put("lockContention", topEntries(monitors, top, (monitor, totals) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("monitorClass", monitor);
+            row.put("count", totals[0]);
+            row.put("totalMs", round(totals[1] / 1_000_000.0));
+            return row;
+        }));
+
+        summary.put("endpoints", topEntries(endpoints, top, (endpoint, totals) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint);
+            row.put("cpuSamples", totals[0]);
+            row.put("cpuPercent", executionSamples == 0 ? 0.0 : round(totals[0] * 100.0 / executionSamples));
+            row.put("requests", totals[1]);
+            row.put("avgMs", totals[1] == 0 ? 0.0 : round(totals[2] / 1_000_000.0 / totals[1]));
+            return row;
+        }));
+
+        List<Map<String, Object>> methods = new ArrayList<>();
+        hotMethods.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(top)
+            .forEach(entry -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("method", entry.getKey());
+                row.put("samples", entry.getValue());
+                methods.add(row);
+            });
+        summary.put("hotMethods", methods);
+        return summary;
+    }
+
+    private static List<Map<String, Object>> topEntries(Map<String, long[]> totals, int top, Row row) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        totals.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed())
+            .limit(top)
+            .forEach(entry -> rows.add(row.of(entry.getKey(), entry.getValue())));
+        return rows;
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return describe(frame.getMethod());
+            }
+        }
+        return describe(stackTrace.getFrames().get(0).getMethod());
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        return describe(stackTrace.getFrames().get(0).getMethod());
+    }
+
+    private static String describe(RecordedMethod method) {
+        return method.getType().getName() + "." + method.getName();
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private interface Row {
+        Map<String, Object> of(String key, long[] totals);
+    }
+
+    /**
+     * totals is the endpoint's {cpuSamples, requests, nanos}
+     */
+    private record Request(long start, long end, long[] totals) {}
+}
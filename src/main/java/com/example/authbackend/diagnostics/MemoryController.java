@@ -0,0 +1,98 @@
+package com.example.authbackend.diagnostics;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Process memory breakdown for sizing container limits: heap, metaspace,
+ * code cache, threads, direct/mapped buffers and resident set size
+ */
+@RestController
+@RequestMapping("/api/admin/memory")
+public class MemoryController {
+
+    private static final long MB = 1024 * 1024;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> memory() {
+        Map<String, Object> memory = new LinkedHashMap<>();
+
+        memory.put("heap", usage(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage()));
+        memory.put("nonHeap", usage(ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage()));
+
+        Map<String, Object> pools = new LinkedHashMap<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            Map<String, Object> entry = usage(pool.getUsage());
+            entry.put("type", pool.getType() == MemoryType.HEAP ? "heap" : "non-heap");
+            pools.put(pool.getName(), entry);
+        }
+        memory.put("pools", pools);
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Map<String, Object> threads = new LinkedHashMap<>();
+        threads.put("live", threadBean.getThreadCount());
+        threads.put("daemon", threadBean.getDaemonThreadCount());
+        threads.put("peak", threadBean.getPeakThreadCount());
+        memory.put("threads", threads);
+
+        Map<String, Object> buffers = new LinkedHashMap<>();
+        List<BufferPoolMXBean> bufferPools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+        for (BufferPoolMXBean buffer : bufferPools) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", buffer.getCount());
+            entry.put("usedMb", toMb(buffer.getMemoryUsed()));
+            entry.put("capacityMb", toMb(buffer.getTotalCapacity()));
+            buffers.put(buffer.getName(), entry);
+        }
+        memory.put("buffers", buffers);
+
+        memory.put("process", processMemory());
+        return ResponseEntity.ok(memory);
+    }
+
+    private Map<String, Object> usage(MemoryUsage usage) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("usedMb", toMb(usage.getUsed()));
+        entry.put("committedMb", toMb(usage.getCommitted()));
+        entry.put("maxMb", usage.getMax() < 0 ? null : toMb(usage.getMax()));
+        return entry;
+    }
+
+    /**
+     * Resident and peak set size from /proc; absent on non-Linux hosts
+     */
+    private Map<String, Object> processMemory() {
+        Map<String, Object> process = new LinkedHashMap<>();
+        Path status = Path.of("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return process;
+        }
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:") || line.startsWith("VmHWM:")) {
+                    String[] parts = line.split("\\s+");
+                    long kb = Long.parseLong(parts[1]);
+                    process.put(line.startsWith("VmRSS:") ? "rssMb" : "peakRssMb", kb / 1024.0);
+                }
+            }
+        } catch (Exception e) {
+            process.put("error", e.getMessage());
+        }
+        return process;
+    }
+
+    private double toMb(long bytes) {
+        return Math.round(bytes * 100.0 / MB) / 100.0;
+    }
+}
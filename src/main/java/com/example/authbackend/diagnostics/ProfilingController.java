@@ -0,0 +1,99 @@
+package com.example.authbackend.diagnostics;
+
+import com.example.authbackend.auth.AuthController.ErrorResponse;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * On-demand Java Flight Recorder profiling of this instance: start a
+ * bounded recording, stop it early, then download the .jfr file for JDK
+ * Mission Control or read the summary of allocation sites, lock
+ * contention and CPU per endpoint.
+ */
+@RestController
+@RequestMapping("/api/admin/profiling")
+public class ProfilingController {
+
+    private final ProfilingService profilingService;
+
+    public ProfilingController(ProfilingService profilingService) {
+        this.profilingService = profilingService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        return ResponseEntity.ok(profilingService.status());
+    }
+
+    /**
+     * Start a recording; it stops by itself after durationSeconds
+     */
+    @PostMapping("/start")
+    public ResponseEntity<?> start(@RequestBody(required = false) StartRequest request,
+                                   Authentication authentication) throws IOException {
+        Long durationSeconds = request != null ? request.getDurationSeconds() : null;
+        if (!profilingService.start(durationSeconds, authentication.getName())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("A recording is already running"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(profilingService.status());
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<?> stop() {
+        if (!profilingService.stop()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("No recording is running"));
+        }
+        return ResponseEntity.ok(profilingService.status());
+    }
+
+    @GetMapping("/recording")
+    public ResponseEntity<?> recording() {
+        Optional<Path> file = profilingService.recordingFile();
+        if (file.isEmpty()) {
+            return notFinished();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.get().getFileName().toString()).build().toString())
+            .body(new FileSystemResource(file.get()));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<?> summary() throws IOException {
+        return profilingService.summary()
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(this::notFinished);
+    }
+
+    private ResponseEntity<?> notFinished() {
+        return profilingService.isRunning()
+            ? ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Recording is still running"))
+            : ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("No finished recording"));
+    }
+
+    public static class StartRequest {
+
+        private Long durationSeconds;
+
+        public StartRequest() {}
+
+        public Long getDurationSeconds() {
+            return durationSeconds;
+        }
+
+        public void setDurationSeconds(Long durationSeconds) {
+            this.durationSeconds = durationSeconds;
+        }
+    }
+}
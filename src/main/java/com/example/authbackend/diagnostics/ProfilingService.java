@@ -0,0 +1,179 @@
+package com.example.authbackend.diagnostics;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs one Java Flight Recorder session at a time on this instance.
+ *
+ * Every recording is bounded: it stops by itself after at most
+ * max-duration-seconds, and JFR drops its oldest data beyond max-size-mb.
+ * The file is written to a temp file when the recording stops and kept
+ * until the next recording starts, for download and for the summary.
+ */
+@Service
+public class ProfilingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfilingService.class);
+
+    private final Configuration configuration;
+    private final long defaultDurationSeconds;
+    private final long maxDurationSeconds;
+    private final long maxSizeBytes;
+    private final int top;
+
+    // Guarded by this
+    private Recording recording;
+    private Path file;
+    private Instant startedAt;
+    private String startedBy;
+    private Map<String, Object> summary;
+
+    public ProfilingService(
+        @Value("${app.profiling.settings:profile}") String settings,
+        @Value("${app.profiling.default-duration-seconds:60}") long defaultDurationSeconds,
+        @Value("${app.profiling.max-duration-seconds:300}") long maxDurationSeconds,
+        @Value("${app.profiling.max-size-mb:64}") long maxSizeMb,
+        @Value("${app.profiling.top:15}") int top
+    ) {
+        try {
+            this.configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings " + settings, e);
+        }
+        this.maxDurationSeconds = Math.max(1, maxDurationSeconds);
+        this.defaultDurationSeconds = Math.min(Math.max(1, defaultDurationSeconds), this.maxDurationSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.top = top;
+    }
+
+    /**
+     * @param durationSeconds clamped to max-duration-seconds; null for the default
+     * @return false if a recording is already running
+     */
+    public synchronized boolean start(Long durationSeconds, String startedBy) throws IOException {
+        if (isRunning()) {
+            return false;
+        }
+        discard();
+
+        long seconds = durationSeconds == null
+            ? defaultDurationSeconds
+            : Math.min(Math.max(1, durationSeconds), maxDurationSeconds);
+        Path destination = Files.createTempFile("authbackend-", ".jfr");
+        Recording next = new Recording(configuration);
+        next.setName("authbackend-profiling");
+        next.enable(RequestEvent.class);
+        next.setToDisk(true);
+        next.setMaxSize(maxSizeBytes);
+        next.setDuration(Duration.ofSeconds(seconds));
+        next.setDestination(destination);
+        next.start();
+
+        this.recording = next;
+        this.file = destination;
+        this.startedAt = Instant.now();
+        this.startedBy = startedBy;
+        log.info("JFR recording started by {} for {} s", startedBy, seconds);
+        return true;
+    }
+
+    /**
+     * @return false if no recording is running
+     */
+    public synchronized boolean stop() {
+        if (!isRunning()) {
+            return false;
+        }
+        recording.stop();
+        log.info("JFR recording stopped after {}", Duration.between(startedAt, Instant.now()));
+        return true;
+    }
+
+    public synchronized boolean isRunning() {
+        return recording != null
+            && (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED);
+    }
+
+    /**
+     * @return the last finished recording, empty while one is running or if none was taken
+     */
+    public synchronized Optional<Path> recordingFile() {
+        if (recording == null || isRunning() || !Files.isReadable(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    /**
+     * Summary of the last finished recording, computed once per recording
+     */
+    public synchronized Optional<Map<String, Object>> summary() throws IOException {
+        Optional<Path> finished = recordingFile();
+        if (finished.isEmpty()) {
+            return Optional.empty();
+        }
+        if (summary == null) {
+            summary = JfrSummary.read(finished.get(), top);
+        }
+        return Optional.of(summary);
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", isRunning());
+        status.put("state", recording != null ? recording.getState().name() : null);
+        status.put("startedAt", startedAt);
+        status.put("startedBy", startedBy);
+        status.put("durationSeconds", recording != null ? recording.getDuration().toSeconds() : null);
+        status.put("maxDurationSeconds", maxDurationSeconds);
+        status.put("maxSizeMb", maxSizeBytes / (1024 * 1024));
+        status.put("settings", configuration.getName());
+        status.put("fileBytes", recordingFile().map(ProfilingService::size).orElse(null));
+        return status;
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        discard();
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete previous recording {}: {}", file, e.getMessage());
+            }
+            file = null;
+        }
+        summary = null;
+    }
+
+    private static Long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
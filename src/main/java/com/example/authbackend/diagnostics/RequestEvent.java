@@ -0,0 +1,29 @@
+package com.example.authbackend.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP request, recorded on the thread that served it. The profiling
+ * summary attributes execution samples to endpoints by matching them to
+ * these intervals.
+ */
+@Name(RequestEvent.NAME)
+@Label("HTTP Request")
+@Category("Auth Backend")
+@Description("HTTP request served by this instance, keyed by route pattern")
+@StackTrace(false)
+class RequestEvent extends Event {
+
+    static final String NAME = "com.example.authbackend.Request";
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+}
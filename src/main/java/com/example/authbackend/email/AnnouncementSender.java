@@ -0,0 +1,276 @@
+package com.example.authbackend.email;
+
+import com.example.authbackend.maintenance.JobLeaseService;
+import com.example.authbackend.outbound.OutboundException;
+import com.example.authbackend.user.EmailRecipient;
+import com.example.authbackend.user.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Bulk announcement emails to every enabled user
+ *
+ * Recipients are read from UserRepository in keyset pages of batch-size
+ * (at most SendGrid's 1000 personalizations per request) and each page is
+ * one mail/send call; the template is rendered once per run with
+ * substitution tags in place of the name. After every accepted request
+ * the campaign's last_user_id cursor is committed, so a restart, pause or
+ * failure resumes from the next user; a crash between the send and the
+ * commit can repeat at most one batch. Requests are paced to
+ * max-requests-per-second. A 429 or a transient failure ends the run and
+ * the next poll picks the campaign up again; any other 4xx fails it.
+ * Only the replica holding the "email-campaigns" lease sends.
+ */
+@Service
+public class AnnouncementSender {
+
+    private static final Logger log = LoggerFactory.getLogger(AnnouncementSender.class);
+
+    static final String LEASE_NAME = "email-campaigns";
+    static final String TEMPLATE = "announcement";
+    static final int SENDGRID_MAX_PERSONALIZATIONS = 1000;
+
+    private static final String NAME_TAG = "-recipientName-";
+    private static final String NAME_HTML_TAG = "-recipientNameHtml-";
+
+    private static final String START_SQL =
+        "UPDATE email_campaigns SET status = 'RUNNING', updated_at = ? WHERE id = ? AND status IN ('QUEUED', 'RUNNING')";
+    private static final String ADVANCE_SQL =
+        "UPDATE email_campaigns SET last_user_id = ?, sent_count = sent_count + ?, request_count = request_count + 1, " +
+        "last_error = NULL, updated_at = ? WHERE id = ? AND status = 'RUNNING'";
+    private static final String FINISH_SQL =
+        "UPDATE email_campaigns SET status = ?, last_error = ?, updated_at = ?, finished_at = ? " +
+        "WHERE id = ? AND status = 'RUNNING'";
+    private static final String ERROR_SQL =
+        "UPDATE email_campaigns SET last_error = ?, updated_at = ? WHERE id = ?";
+    private static final String SET_STATUS_SQL =
+        "UPDATE email_campaigns SET status = ?, updated_at = ? WHERE id = ? AND status IN (?, ?)";
+
+    private final EmailCampaignRepository campaignRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final EmailTemplates templates;
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLeaseService leaseService;
+    private final TaskExecutor executor;
+
+    private final int batchSize;
+    private final double maxRequestsPerSecond;
+    private final Duration leaseTtl;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter recipientsSent;
+    private final Counter requestsFailed;
+
+    public AnnouncementSender(
+        EmailCampaignRepository campaignRepository,
+        UserRepository userRepository,
+        EmailService emailService,
+        EmailTemplates templates,
+        JdbcTemplate jdbcTemplate,
+        JobLeaseService leaseService,
+        @Qualifier("campaignExecutor") TaskExecutor executor,
+        MeterRegistry meterRegistry,
+        @Value("${app.email.batch.size:1000}") int batchSize,
+        @Value("${app.email.batch.max-requests-per-second:2}") double maxRequestsPerSecond,
+        @Value("${app.email.batch.lease-ttl-seconds:300}") long leaseTtlSeconds
+    ) {
+        this.campaignRepository = campaignRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.templates = templates;
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseService = leaseService;
+        this.executor = executor;
+        this.batchSize = Math.max(1, Math.min(batchSize, SENDGRID_MAX_PERSONALIZATIONS));
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        this.leaseTtl = Duration.ofSeconds(leaseTtlSeconds);
+
+        this.recipientsSent = meterRegistry.counter("email.batch.recipients");
+        this.requestsFailed = meterRegistry.counter("email.batch.failures");
+        meterRegistry.gauge("email.batch.running", running, flag -> flag.get() ? 1 : 0);
+    }
+
+    public EmailCampaign create(String subject, String message, String locale, String createdBy) {
+        Locale parsed = locale == null || locale.isBlank() ? templates.defaultLocale() : Locale.forLanguageTag(locale);
+        // Fail now on a missing template rather than in the background run
+        templates.render(TEMPLATE, parsed, Map.of());
+        EmailCampaign campaign = campaignRepository.save(
+            new EmailCampaign(TEMPLATE, parsed.toLanguageTag(), subject, message, createdBy));
+        kick();
+        return campaign;
+    }
+
+    public boolean pause(Long id) {
+        return setStatus(id, EmailCampaign.Status.PAUSED, EmailCampaign.Status.QUEUED, EmailCampaign.Status.RUNNING);
+    }
+
+    public boolean resume(Long id) {
+        boolean resumed = setStatus(id, EmailCampaign.Status.QUEUED, EmailCampaign.Status.PAUSED, EmailCampaign.Status.FAILED);
+        if (resumed) {
+            kick();
+        }
+        return resumed;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.email.batch.poll-interval-ms:30000}",
+        initialDelayString = "${app.email.batch.poll-interval-ms:30000}"
+    )
+    public void poll() {
+        kick();
+    }
+
+    /**
+     * Hands pending work to the single campaign thread unless it is busy
+     */
+    private void kick() {
+        if (!emailService.isConfigured() || running.get()) {
+            return;
+        }
+        try {
+            executor.execute(this::runPending);
+        } catch (RejectedExecutionException e) {
+            // Already queued behind the current run
+        }
+    }
+
+    void runPending() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+                return;
+            }
+            try {
+                EmailCampaign campaign;
+                while ((campaign = campaignRepository.findFirstByStatusInOrderByIdAsc(
+                        List.of(EmailCampaign.Status.QUEUED, EmailCampaign.Status.RUNNING)).orElse(null)) != null) {
+                    if (!run(campaign)) {
+                        break;
+                    }
+                }
+            } finally {
+                leaseService.release(LEASE_NAME);
+            }
+        } catch (Exception e) {
+            log.warn("Announcement run stopped: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return true if the campaign reached a final or paused state and the
+     *         next one may start; false to stop until the next poll
+     */
+    private boolean run(EmailCampaign campaign) throws InterruptedException {
+        if (jdbcTemplate.update(START_SQL, now(), campaign.getId()) == 0) {
+            return true;
+        }
+        Locale locale = Locale.forLanguageTag(campaign.getLocale());
+        // Same tag in text and HTML would get the same value, so each part has its own
+        RenderedEmail text = templates.render(campaign.getTemplate(), locale,
+            Map.of("subject", campaign.getSubject(), "message", campaign.getMessage(), "name", NAME_TAG));
+        RenderedEmail html = templates.render(campaign.getTemplate(), locale,
+            Map.of("subject", campaign.getSubject(), "message", campaign.getMessage(), "name", NAME_HTML_TAG));
+        RenderedEmail email = new RenderedEmail(text.subject(), text.text(), html.html());
+        long minIntervalNanos = maxRequestsPerSecond > 0 ? (long) (1_000_000_000L / maxRequestsPerSecond) : 0;
+
+        long cursor = campaign.getLastUserId();
+        while (true) {
+            long started = System.nanoTime();
+            List<EmailRecipient> page = userRepository.findRecipientsAfter(cursor, PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                finish(campaign.getId(), EmailCampaign.Status.COMPLETED, null);
+                return true;
+            }
+
+            List<String> recipients = new ArrayList<>(page.size());
+            List<Map<String, String>> substitutions = new ArrayList<>(page.size());
+            for (EmailRecipient recipient : page) {
+                String name = recipient.getName() != null ? recipient.getName() : "";
+                recipients.add(recipient.getEmail());
+                substitutions.add(Map.of(NAME_TAG, name, NAME_HTML_TAG, HtmlUtils.htmlEscape(name)));
+            }
+
+            int status;
+            try {
+                status = emailService.sendBatch(email, recipients, substitutions);
+            } catch (OutboundException e) {
+                requestsFailed.increment();
+                jdbcTemplate.update(ERROR_SQL, truncate(e.getMessage()), now(), campaign.getId());
+                return false;
+            }
+            if (status == 429 || status >= 500) {
+                requestsFailed.increment();
+                jdbcTemplate.update(ERROR_SQL, "SendGrid returned " + status, now(), campaign.getId());
+                return false;
+            }
+            if (status >= 400) {
+                requestsFailed.increment();
+                finish(campaign.getId(), EmailCampaign.Status.FAILED, "SendGrid returned " + status);
+                return true;
+            }
+
+            cursor = page.get(page.size() - 1).getId();
+            recipientsSent.increment(page.size());
+            if (jdbcTemplate.update(ADVANCE_SQL, cursor, page.size(), now(), campaign.getId()) == 0) {
+                // Paused (or otherwise changed) while this batch was in flight
+                return true;
+            }
+            if (page.size() < batchSize) {
+                finish(campaign.getId(), EmailCampaign.Status.COMPLETED, null);
+                return true;
+            }
+            if (!leaseService.renew(LEASE_NAME, leaseTtl)) {
+                return false;
+            }
+            long remaining = minIntervalNanos - (System.nanoTime() - started);
+            if (remaining > 0) {
+                Thread.sleep(remaining / 1_000_000, (int) (remaining % 1_000_000));
+            }
+        }
+    }
+
+    private void finish(Long id, EmailCampaign.Status status, String error) {
+        Timestamp now = now();
+        jdbcTemplate.update(FINISH_SQL, status.name(), error, now, now, id);
+    }
+
+    private boolean setStatus(Long id, EmailCampaign.Status to, EmailCampaign.Status from1, EmailCampaign.Status from2) {
+        return jdbcTemplate.update(SET_STATUS_SQL, to.name(), now(), id, from1.name(), from2.name()) > 0;
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > 500 ? value.substring(0, 500) : value;
+    }
+}
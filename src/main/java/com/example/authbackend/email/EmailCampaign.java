@@ -0,0 +1,129 @@
+package com.example.authbackend.email;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Mapping of email_campaigns. Campaigns are created and listed through
+ * JPA; AnnouncementSender advances the cursor and status via JDBC.
+ */
+@Entity
+@Table(name = "email_campaigns", indexes = @Index(name = "idx_email_campaigns_status", columnList = "status"))
+public class EmailCampaign {
+
+    public enum Status { QUEUED, RUNNING, PAUSED, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String template;
+
+    @Column(nullable = false, length = 16)
+    private String locale;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "last_user_id", nullable = false)
+    private long lastUserId;
+
+    @Column(name = "sent_count", nullable = false)
+    private long sentCount;
+
+    @Column(name = "request_count", nullable = false)
+    private int requestCount;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_by")
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public EmailCampaign() {
+    }
+
+    public EmailCampaign(String template, String locale, String subject, String message, String createdBy) {
+        this.template = template;
+        this.locale = locale;
+        this.subject = subject;
+        this.message = message;
+        this.createdBy = createdBy;
+        this.status = Status.QUEUED;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public String getLocale() {
+        return locale;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getLastUserId() {
+        return lastUserId;
+    }
+
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    public int getRequestCount() {
+        return requestCount;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
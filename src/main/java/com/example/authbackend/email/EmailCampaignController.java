@@ -0,0 +1,113 @@
+package com.example.authbackend.email;
+
+import com.example.authbackend.auth.AuthController.ErrorResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/email/campaigns")
+public class EmailCampaignController {
+
+    private final AnnouncementSender announcementSender;
+    private final EmailCampaignRepository campaignRepository;
+
+    public EmailCampaignController(AnnouncementSender announcementSender,
+                                   EmailCampaignRepository campaignRepository) {
+        this.announcementSender = announcementSender;
+        this.campaignRepository = campaignRepository;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> campaigns() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("running", announcementSender.isRunning());
+        body.put("campaigns", campaignRepository.findTop50ByOrderByIdDesc());
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> campaign(@PathVariable("id") Long id) {
+        return campaignRepository.findById(id)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Campaign not found")));
+    }
+
+    /**
+     * Queue an announcement to every enabled user. Sending happens in the
+     * background; poll the campaign for progress.
+     */
+    @PostMapping
+    public ResponseEntity<?> create(@RequestBody CreateRequest request, Authentication authentication) {
+        if (isBlank(request.getSubject()) || isBlank(request.getMessage())) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("subject and message are required"));
+        }
+        if (request.getSubject().length() > 255) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("subject must be at most 255 characters"));
+        }
+        try {
+            EmailCampaign campaign = announcementSender.create(
+                request.getSubject(), request.getMessage(), request.getLocale(), authentication.getName());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaign);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/pause")
+    public ResponseEntity<?> pause(@PathVariable("id") Long id) {
+        return announcementSender.pause(id)
+            ? campaign(id)
+            : ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Campaign is not queued or running"));
+    }
+
+    /**
+     * Continue a paused or failed campaign from its last committed user
+     */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<?> resume(@PathVariable("id") Long id) {
+        return announcementSender.resume(id)
+            ? campaign(id)
+            : ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Campaign is not paused or failed"));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    public static class CreateRequest {
+
+        private String subject;
+        private String message;
+        private String locale;
+
+        public CreateRequest() {}
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public void setSubject(String subject) {
+            this.subject = subject;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        public String getLocale() {
+            return locale;
+        }
+
+        public void setLocale(String locale) {
+            this.locale = locale;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.authbackend.email;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface EmailCampaignRepository extends JpaRepository<EmailCampaign, Long> {
+
+    List<EmailCampaign> findTop50ByOrderByIdDesc();
+
+    Optional<EmailCampaign> findFirstByStatusInOrderByIdAsc(List<EmailCampaign.Status> statuses);
+}
@@ -1,47 +1,143 @@
 package com.example.authbackend.email;
 
-import com.sendgrid.*;
+import com.example.authbackend.outbound.Destination;
+import com.example.authbackend.outbound.OutboundException;
+import com.example.authbackend.outbound.OutboundHttp;
 import com.sendgrid.helpers.mail.Mail;
 import com.sendgrid.helpers.mail.objects.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
+/**
+ * Outbound mail through SendGrid, rendered from the localized templates
+ * in {@link EmailTemplates}. Single sends run on the bounded
+ * emailExecutor, so callers return as soon as the message is queued.
+ * The SendGrid library only builds the request body; it is posted to the
+ * v3 API through the shared "sendgrid" outbound destination, whose
+ * base-url can point at a local stub.
+ */
 @Service
 public class EmailService {
 
-    @Value("${sendgrid.api-key:}")
-    private String sendGridApiKey;
+    private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
-    @Value("${app.email.from:no-reply@example.com}")
-    private String fromAddress;
+    private final String fromAddress;
+    private final String authorization;
+    private final Destination sendGrid;
+    private final EmailTemplates templates;
 
-    public void sendWelcomeEmail(String toEmail, String name) {
-        if (sendGridApiKey == null || sendGridApiKey.isEmpty()) {
-            System.out.println("SendGrid API key not configured, skipping email.");
-            return;
+    public EmailService(OutboundHttp outboundHttp,
+                        EmailTemplates templates,
+                        @Value("${app.sendgrid.api-key:${sendgrid.api-key:}}") String sendGridApiKey,
+                        @Value("${app.email.from:no-reply@example.com}") String fromAddress) {
+        this.fromAddress = fromAddress;
+        this.authorization = sendGridApiKey == null || sendGridApiKey.isEmpty() ? null : "Bearer " + sendGridApiKey;
+        this.sendGrid = outboundHttp.destination("sendgrid", "https://api.sendgrid.com/v3");
+        this.templates = templates;
+    }
+
+    @Async("emailExecutor")
+    public void sendWelcomeEmail(String toEmail, String name, Locale locale) {
+        send(toEmail, templates.render("welcome", locale, Map.of("name", orEmpty(name))));
+    }
+
+    @Async("emailExecutor")
+    public void sendVerificationEmail(String toEmail, String name, String link, Locale locale) {
+        send(toEmail, templates.render("verify-email", locale, Map.of("name", orEmpty(name), "link", link)));
+    }
+
+    @Async("emailExecutor")
+    public void sendPasswordResetEmail(String toEmail, String name, String link, long validMinutes, Locale locale) {
+        send(toEmail, templates.render("password-reset", locale,
+            Map.of("name", orEmpty(name), "link", link, "validMinutes", validMinutes)));
+    }
+
+    public boolean isConfigured() {
+        return authorization != null;
+    }
+
+    /**
+     * Sends one message to many recipients in a single mail/send request,
+     * one personalization each. Per-recipient values are SendGrid
+     * substitutions: the content carries the tag, each personalization
+     * the value. Runs on the caller's thread.
+     *
+     * @param substitutions one map per recipient, tag to value
+     * @return the HTTP status SendGrid answered with
+     * @throws OutboundException if the request could not be made
+     */
+    public int sendBatch(RenderedEmail email, List<String> recipients, List<Map<String, String>> substitutions) {
+        Mail mail = new Mail();
+        mail.setFrom(new Email(fromAddress));
+        mail.setSubject(email.subject());
+        for (int i = 0; i < recipients.size(); i++) {
+            Personalization personalization = new Personalization();
+            personalization.addTo(new Email(recipients.get(i)));
+            substitutions.get(i).forEach(personalization::addSubstitution);
+            mail.addPersonalization(personalization);
         }
+        addContent(mail, email);
+        return post(mail).statusCode();
+    }
 
-        Email from = new Email(fromAddress);
-        Email to = new Email(toEmail);
-        String subject = "Welcome to our app!";
-        String text = "Hi " + name + ",\n\nWelcome to our application!";
-        Content content = new Content("text/plain", text);
+    private void send(String toEmail, RenderedEmail email) {
+        if (authorization == null) {
+            log.info("SendGrid API key not configured, skipping email");
+            return;
+        }
 
-        Mail mail = new Mail(from, subject, to, content);
+        Mail mail = new Mail();
+        mail.setFrom(new Email(fromAddress));
+        mail.setSubject(email.subject());
+        Personalization personalization = new Personalization();
+        personalization.addTo(new Email(toEmail));
+        mail.addPersonalization(personalization);
+        addContent(mail, email);
 
-        SendGrid sg = new SendGrid(sendGridApiKey);
+        try {
+            log.info("SendGrid status: {}", post(mail).statusCode());
+        } catch (OutboundException ex) {
+            log.warn("Failed to send email: {}", ex.getMessage());
+        }
+    }
 
-        Request request = new Request();
+    private HttpResponse<String> post(Mail mail) {
+        if (authorization == null) {
+            throw new OutboundException("SendGrid API key not configured");
+        }
+        String body;
         try {
-            request.setMethod(Method.POST);
-            request.setEndpoint("mail/send");
-            request.setBody(mail.build());
-            Response response = sg.api(request);
-            System.out.println("SendGrid status: " + response.getStatusCode());
+            body = mail.build();
         } catch (IOException ex) {
-            System.out.println("Failed to send email: " + ex.getMessage());
+            throw new OutboundException("Cannot serialize mail: " + ex.getMessage(), ex);
         }
+        HttpRequest request = sendGrid.request("/mail/send")
+            .header("Authorization", authorization)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return sendGrid.send(request);
+    }
+
+    private static void addContent(Mail mail, RenderedEmail email) {
+        // SendGrid requires text/plain before text/html
+        mail.addContent(new Content("text/plain", email.text()));
+        if (email.html() != null) {
+            mail.addContent(new Content("text/html", email.html()));
+        }
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
     }
 }
@@ -0,0 +1,57 @@
+package com.example.authbackend.email;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * A template compiled once into literal and {{variable}} segments, so
+ * rendering is a single StringBuilder pass with no parsing. Variables in
+ * HTML templates are escaped; missing variables render as empty.
+ */
+final class EmailTemplate {
+
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean html;
+    private final int sizeHint;
+
+    private EmailTemplate(String[] literals, String[] variables, boolean html, int sizeHint) {
+        this.literals = literals;
+        this.variables = variables;
+        this.html = html;
+        this.sizeHint = sizeHint;
+    }
+
+    static EmailTemplate compile(String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf("{{", pos);
+            int close = open < 0 ? -1 : source.indexOf("}}", open + 2);
+            if (close < 0) {
+                literals.add(source.substring(pos));
+                break;
+            }
+            literals.add(source.substring(pos, open));
+            variables.add(source.substring(open + 2, close).trim());
+            pos = close + 2;
+        }
+        return new EmailTemplate(literals.toArray(new String[0]), variables.toArray(new String[0]), html,
+            source.length() + 64);
+    }
+
+    String render(Map<String, ?> model) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            Object value = model.get(variables[i]);
+            if (value != null) {
+                out.append(html ? HtmlUtils.htmlEscape(value.toString()) : value);
+            }
+        }
+        return out.append(literals[variables.length]).toString();
+    }
+}
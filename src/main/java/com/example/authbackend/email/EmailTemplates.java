@@ -0,0 +1,120 @@
+package com.example.authbackend.email;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.stereotype.Service;
+
+/**
+ * Localized email templates from classpath:email/templates/&lt;locale&gt;/
+ *
+ * Each message is &lt;name&gt;.subject, &lt;name&gt;.txt and optionally
+ * &lt;name&gt;.html. A locale falls back language_COUNTRY, then language,
+ * then app.email.default-locale. Templates are read and compiled on first
+ * use and the result, including the fallback decision, is cached for the
+ * life of the process. The cache is keyed by the locale directories that
+ * exist, listed once at startup, so arbitrary Accept-Language values all
+ * share the entries of the few locales actually shipped.
+ */
+@Service
+public class EmailTemplates {
+
+    private static final String BASE = "classpath:email/templates/";
+
+    private final ResourceLoader resourceLoader;
+    private final Locale defaultLocale;
+    private final Set<String> localeDirs;
+    private final Map<String, Compiled> cache = new ConcurrentHashMap<>();
+
+    public EmailTemplates(ResourceLoader resourceLoader,
+                          @Value("${app.email.default-locale:en}") String defaultLocale) throws IOException {
+        this.resourceLoader = resourceLoader;
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+        this.localeDirs = listLocaleDirs(resourceLoader);
+    }
+
+    public Locale defaultLocale() {
+        return defaultLocale;
+    }
+
+    public RenderedEmail render(String name, Locale locale, Map<String, ?> model) {
+        Compiled compiled = compiled(name, locale);
+        return new RenderedEmail(
+            compiled.subject.render(model).trim(),
+            compiled.text.render(model),
+            compiled.html != null ? compiled.html.render(model) : null);
+    }
+
+    private Compiled compiled(String name, Locale locale) {
+        Locale effective = locale != null ? locale : defaultLocale;
+        List<String> dirs = candidates(effective).stream().filter(localeDirs::contains).toList();
+        return cache.computeIfAbsent(name + "|" + String.join(",", dirs), key -> load(name, dirs, effective));
+    }
+
+    private Compiled load(String name, List<String> dirs, Locale locale) {
+        for (String dir : dirs) {
+            Optional<String> subject = read(dir + name + ".subject");
+            Optional<String> text = read(dir + name + ".txt");
+            if (subject.isPresent() && text.isPresent()) {
+                return new Compiled(
+                    EmailTemplate.compile(subject.get(), false),
+                    EmailTemplate.compile(text.get(), false),
+                    read(dir + name + ".html").map(html -> EmailTemplate.compile(html, true)).orElse(null));
+            }
+        }
+        throw new IllegalArgumentException("No email template '" + name + "' for " + locale);
+    }
+
+    private List<String> candidates(Locale locale) {
+        List<String> dirs = new ArrayList<>();
+        if (!locale.getCountry().isEmpty()) {
+            dirs.add(locale.getLanguage() + "_" + locale.getCountry() + "/");
+        }
+        dirs.add(locale.getLanguage() + "/");
+        if (!defaultLocale.getLanguage().equals(locale.getLanguage())) {
+            dirs.add(defaultLocale.getLanguage() + "/");
+        }
+        return dirs;
+    }
+
+    /**
+     * Locale directories that hold at least one template, e.g. "en/"
+     */
+    private static Set<String> listLocaleDirs(ResourceLoader resourceLoader) throws IOException {
+        Set<String> dirs = new HashSet<>();
+        for (Resource resource : ResourcePatternUtils.getResourcePatternResolver(resourceLoader)
+                .getResources(BASE + "*/*.subject")) {
+            String path = resource.getURL().getPath();
+            int end = path.lastIndexOf('/');
+            dirs.add(path.substring(path.lastIndexOf('/', end - 1) + 1, end + 1));
+        }
+        return Set.copyOf(dirs);
+    }
+
+    private Optional<String> read(String path) {
+        Resource resource = resourceLoader.getResource(BASE + path);
+        if (!resource.exists()) {
+            return Optional.empty();
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return Optional.of(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read email template " + path, e);
+        }
+    }
+
+    private record Compiled(EmailTemplate subject, EmailTemplate text, EmailTemplate html) {
+    }
+}
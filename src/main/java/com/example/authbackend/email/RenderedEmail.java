@@ -0,0 +1,7 @@
+package com.example.authbackend.email;
+
+/**
+ * A rendered message; html is null when the template has no HTML part
+ */
+public record RenderedEmail(String subject, String text, String html) {
+}
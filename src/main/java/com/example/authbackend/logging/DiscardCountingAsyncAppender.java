@@ -0,0 +1,34 @@
+package com.example.authbackend.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback's AsyncAppender with the events it drops counted
+ *
+ * Configured in logback-spring.xml with neverBlock, so a full queue drops
+ * the event instead of stalling the logging thread, and with a discarding
+ * threshold below which INFO and lower are dropped first. The base class
+ * drops silently; this one mirrors its checks to count what was lost for
+ * the logging.async.discarded metric. The count is approximate under
+ * contention.
+ */
+public class DiscardCountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if ((remaining < getDiscardingThreshold() && isDiscardable(event)) || (isNeverBlock() && remaining == 0)) {
+            discarded.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.authbackend.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reaches the async appenders and the sampling filter declared in
+ * logback-spring.xml, for metrics and the admin endpoint. They are looked
+ * up on each use because logback owns them and may be reconfigured.
+ */
+@Component
+public class LogbackControl implements MeterBinder {
+
+    public List<DiscardCountingAsyncAppender> asyncAppenders() {
+        List<DiscardCountingAsyncAppender> appenders = new ArrayList<>();
+        Logger root = context().getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof DiscardCountingAsyncAppender appender) {
+                appenders.add(appender);
+            }
+        }
+        return appenders;
+    }
+
+    /**
+     * @return the sampling filter, or null if logback-spring.xml was not loaded
+     */
+    public SamplingTurboFilter samplingFilter() {
+        for (TurboFilter filter : context().getTurboFilterList()) {
+            if (filter instanceof SamplingTurboFilter sampling) {
+                return sampling;
+            }
+        }
+        return null;
+    }
+
+    public List<Map<String, Object>> describeAppenders() {
+        List<Map<String, Object>> all = new ArrayList<>();
+        for (DiscardCountingAsyncAppender appender : asyncAppenders()) {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("name", appender.getName());
+            info.put("queueSize", appender.getQueueSize());
+            info.put("queued", appender.getNumberOfElementsInQueue());
+            info.put("discardingThreshold", appender.getDiscardingThreshold());
+            info.put("discarded", appender.getDiscardedCount());
+            all.add(info);
+        }
+        return all;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (DiscardCountingAsyncAppender appender : asyncAppenders()) {
+            String name = appender.getName();
+            Gauge.builder("logging.async.queued", this, control -> control.appender(name)
+                    .map(a -> (double) a.getNumberOfElementsInQueue()).orElse(0.0))
+                .tag("appender", name)
+                .register(registry);
+            FunctionCounter.builder("logging.async.discarded", this, control -> control.appender(name)
+                    .map(a -> (double) a.getDiscardedCount()).orElse(0.0))
+                .tag("appender", name)
+                .register(registry);
+        }
+        FunctionCounter.builder("logging.sampled.dropped", this, control -> {
+                SamplingTurboFilter filter = control.samplingFilter();
+                return filter != null ? filter.getDroppedCount() : 0;
+            })
+            .register(registry);
+    }
+
+    private Optional<DiscardCountingAsyncAppender> appender(String name) {
+        return asyncAppenders().stream().filter(a -> name.equals(a.getName())).findFirst();
+    }
+
+    private static LoggerContext context() {
+        return (LoggerContext) LoggerFactory.getILoggerFactory();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.authbackend.logging;
+
+import com.example.authbackend.auth.AuthController.ErrorResponse;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Runtime logging control for this instance: logger levels, sampling
+ * rules and the async appender queues. Changes are not persisted and
+ * apply to this instance only.
+ */
+@RestController
+@RequestMapping("/api/admin/logging")
+public class LoggingAdminController {
+
+    private final LoggingSystem loggingSystem;
+    private final LogbackControl logbackControl;
+
+    public LoggingAdminController(LoggingSystem loggingSystem, LogbackControl logbackControl) {
+        this.loggingSystem = loggingSystem;
+        this.logbackControl = logbackControl;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> logging() {
+        Map<String, String> levels = new LinkedHashMap<>();
+        for (LoggerConfiguration configuration : loggingSystem.getLoggerConfigurations()) {
+            if (configuration.getConfiguredLevel() != null) {
+                levels.put(configuration.getName(), configuration.getConfiguredLevel().name());
+            }
+        }
+        SamplingTurboFilter sampling = logbackControl.samplingFilter();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("levels", levels);
+        body.put("sampling", sampling != null ? sampling.getRules() : null);
+        body.put("sampledOut", sampling != null ? sampling.getDroppedCount() : 0);
+        body.put("asyncAppenders", logbackControl.describeAppenders());
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Set a logger's level; a null or empty level makes it inherit again
+     */
+    @PutMapping("/levels/{name:.+}")
+    public ResponseEntity<?> setLevel(@PathVariable("name") String name, @RequestBody LevelRequest request) {
+        LogLevel level = null;
+        if (request.getLevel() != null && !request.getLevel().isBlank()) {
+            try {
+                level = LogLevel.valueOf(request.getLevel().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("Unknown level " + request.getLevel()));
+            }
+        }
+        loggingSystem.setLogLevel(name, level);
+        return logging();
+    }
+
+    /**
+     * Replace the sampling rules, e.g. "com.example.authbackend.security:100"
+     */
+    @PutMapping("/sampling")
+    public ResponseEntity<?> setSampling(@RequestBody SamplingRequest request) {
+        SamplingTurboFilter sampling = logbackControl.samplingFilter();
+        if (sampling == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Sampling filter is not installed"));
+        }
+        try {
+            sampling.setRules(request.getRules());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(e.getMessage()));
+        }
+        return logging();
+    }
+
+    public static class LevelRequest {
+
+        private String level;
+
+        public LevelRequest() {}
+
+        public String getLevel() {
+            return level;
+        }
+
+        public void setLevel(String level) {
+            this.level = level;
+        }
+    }
+
+    public static class SamplingRequest {
+
+        private String rules;
+
+        public SamplingRequest() {}
+
+        public String getRules() {
+            return rules;
+        }
+
+        public void setRules(String rules) {
+            this.rules = rules;
+        }
+    }
+}
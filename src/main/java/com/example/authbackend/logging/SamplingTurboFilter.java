@@ -0,0 +1,118 @@
+package com.example.authbackend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Marker;
+
+/**
+ * Keeps one in N events below ERROR for chosen loggers
+ *
+ * Rules are "logger:N" pairs separated by commas; a rule covers its
+ * logger and every logger below it, and the most specific rule wins.
+ * Only events that would be logged are counted, so raising a logger's
+ * level does not skew the rate. ERROR is never sampled. The rule for a
+ * logger is resolved once and cached until the rules change.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final Rule NONE = new Rule(1);
+
+    private volatile Map<String, Rule> rules = Map.of();
+    private final Map<String, Rule> resolved = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level,
+                              String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.ERROR) || rules.isEmpty()
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Rule rule = resolved.computeIfAbsent(logger.getName(), this::resolve);
+        if (rule == NONE || rule.counter.getAndIncrement() % rule.keepOneIn == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        dropped.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * Replaces all rules, e.g. "com.example.authbackend.security:100"
+     *
+     * @throws IllegalArgumentException on a malformed rule
+     */
+    public void setRules(String spec) {
+        Map<String, Rule> parsed = new LinkedHashMap<>();
+        if (spec != null) {
+            for (String part : spec.split(",")) {
+                String rule = part.trim();
+                if (rule.isEmpty()) {
+                    continue;
+                }
+                int colon = rule.lastIndexOf(':');
+                if (colon <= 0) {
+                    throw new IllegalArgumentException("Sampling rule must be logger:N, got " + rule);
+                }
+                int keepOneIn;
+                try {
+                    keepOneIn = Integer.parseInt(rule.substring(colon + 1).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Sampling rate must be a number in " + rule);
+                }
+                if (keepOneIn < 1) {
+                    throw new IllegalArgumentException("Sampling rate must be at least 1 in " + rule);
+                }
+                parsed.put(rule.substring(0, colon).trim(), new Rule(keepOneIn));
+            }
+        }
+        rules = Map.copyOf(parsed);
+        resolved.clear();
+    }
+
+    public String getRules() {
+        StringBuilder spec = new StringBuilder();
+        rules.forEach((name, rule) -> {
+            if (spec.length() > 0) {
+                spec.append(',');
+            }
+            spec.append(name).append(':').append(rule.keepOneIn);
+        });
+        return spec.toString();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private Rule resolve(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Rule rule = rules.get(name);
+            if (rule != null) {
+                return rule;
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return NONE;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+
+    private static final class Rule {
+
+        final int keepOneIn;
+        final AtomicLong counter = new AtomicLong();
+
+        Rule(int keepOneIn) {
+            this.keepOneIn = keepOneIn;
+        }
+    }
+}
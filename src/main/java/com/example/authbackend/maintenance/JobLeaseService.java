@@ -0,0 +1,90 @@
+package com.example.authbackend.maintenance;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Database lease rows that let exactly one replica run a background job
+ *
+ * Acquiring is a conditional UPDATE that only succeeds if the lease has
+ * expired or is already ours, falling back to an INSERT for the first
+ * run; the primary key settles races. Holders renew between units of
+ * work, so a replica that dies mid-job loses the lease after its TTL.
+ * Lease times come from each replica's clock, so the TTL must comfortably
+ * exceed any clock skew.
+ */
+@Service
+public class JobLeaseService {
+
+    private static final String ACQUIRE_SQL =
+        "UPDATE job_leases SET owner = ?, lease_until = ?, acquired_at = ? " +
+        "WHERE name = ? AND (lease_until < ? OR owner = ?)";
+    private static final String INSERT_SQL =
+        "INSERT INTO job_leases (name, owner, lease_until, acquired_at) VALUES (?, ?, ?, ?)";
+    private static final String EXTEND_SQL =
+        "UPDATE job_leases SET lease_until = ? WHERE name = ? AND owner = ?";
+    private static final String SELECT_SQL =
+        "SELECT name, owner, lease_until, acquired_at FROM job_leases";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+
+    public JobLeaseService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.owner = hostName() + ":" + ManagementFactory.getRuntimeMXBean().getPid()
+            + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp until = Timestamp.valueOf(now.plus(ttl));
+        int updated = jdbcTemplate.update(ACQUIRE_SQL,
+            owner, until, Timestamp.valueOf(now), name, Timestamp.valueOf(now), owner);
+        if (updated > 0) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_SQL, name, owner, until, Timestamp.valueOf(now)) > 0;
+        } catch (DataIntegrityViolationException e) {
+            // Row exists and another replica holds it
+            return false;
+        }
+    }
+
+    /**
+     * @return false if the lease was lost and the caller must stop
+     */
+    public boolean renew(String name, Duration ttl) {
+        return jdbcTemplate.update(EXTEND_SQL, Timestamp.valueOf(LocalDateTime.now().plus(ttl)), name, owner) > 0;
+    }
+
+    public void release(String name) {
+        // Expire it now so another replica need not wait out the TTL
+        jdbcTemplate.update(EXTEND_SQL, Timestamp.valueOf(LocalDateTime.now()), name, owner);
+    }
+
+    public List<Map<String, Object>> leases() {
+        return jdbcTemplate.queryForList(SELECT_SQL);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.authbackend.maintenance;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/maintenance")
+public class MaintenanceController {
+
+    private final PurgeJob purgeJob;
+    private final JobLeaseService leaseService;
+
+    public MaintenanceController(PurgeJob purgeJob, JobLeaseService leaseService) {
+        this.purgeJob = purgeJob;
+        this.leaseService = leaseService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("instance", leaseService.owner());
+        status.put("running", purgeJob.isRunning());
+        status.put("leases", leaseService.leases());
+        status.put("lastRuns", purgeJob.lastRuns());
+        return ResponseEntity.ok(status);
+    }
+
+    /**
+     * Run the purge now on this instance. Returns without deleting anything
+     * if another replica holds the lease.
+     */
+    @PostMapping("/purge")
+    public ResponseEntity<Map<String, Object>> purge() {
+        Map<String, Long> deleted = purgeJob.run();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("ran", !deleted.isEmpty());
+        body.put("deleted", deleted);
+        body.put("lastRuns", purgeJob.lastRuns());
+        return ResponseEntity.ok(body);
+    }
+}
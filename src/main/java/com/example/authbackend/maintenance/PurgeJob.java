@@ -0,0 +1,300 @@
+package com.example.authbackend.maintenance;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background deletion of expired jwt_blacklist and user_sessions rows and
+ * of audit_logs past retention, replacing the MySQL cleanup events
+ *
+ * Rows go in chunks of app.maintenance.purge.chunk-size, selected in
+ * (time column, id) order with a keyset cursor so each chunk starts where
+ * the last one ended instead of rescanning delete-marked index entries.
+ * Between chunks the job sleeps to stay under max-rows-per-second, and
+ * waits while the primary pool has callers queueing or is busier than
+ * load-threshold; if the load does not clear it gives up until the next
+ * run. Only the replica holding the "purge" lease row runs it.
+ */
+@Service
+public class PurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PurgeJob.class);
+
+    static final String LEASE_NAME = "purge";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLeaseService leaseService;
+    private final HikariDataSource pool;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int maxRowsPerSecond;
+    private final long pauseMs;
+    private final double loadThreshold;
+    private final long loadWaitMs;
+    private final int maxLoadWaits;
+    private final Duration leaseTtl;
+
+    private final List<PurgeTarget> targets;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<String, Map<String, Object>> lastRuns = new ConcurrentHashMap<>();
+
+    public PurgeJob(
+        JdbcTemplate jdbcTemplate,
+        JobLeaseService leaseService,
+        DataSource dataSource,
+        MeterRegistry meterRegistry,
+        @Value("${app.maintenance.purge.enabled:true}") boolean enabled,
+        @Value("${app.maintenance.purge.chunk-size:500}") int chunkSize,
+        @Value("${app.maintenance.purge.max-rows-per-second:2000}") int maxRowsPerSecond,
+        @Value("${app.maintenance.purge.pause-ms:50}") long pauseMs,
+        @Value("${app.maintenance.purge.load-threshold:0.75}") double loadThreshold,
+        @Value("${app.maintenance.purge.load-wait-ms:2000}") long loadWaitMs,
+        @Value("${app.maintenance.purge.max-load-waits:15}") int maxLoadWaits,
+        @Value("${app.maintenance.purge.lease-ttl-seconds:300}") long leaseTtlSeconds,
+        @Value("${app.maintenance.purge.audit-retention-days:90}") int auditRetentionDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseService = leaseService;
+        this.pool = unwrap(dataSource);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.pauseMs = pauseMs;
+        this.loadThreshold = loadThreshold;
+        this.loadWaitMs = loadWaitMs;
+        this.maxLoadWaits = maxLoadWaits;
+        this.leaseTtl = Duration.ofSeconds(leaseTtlSeconds);
+
+        this.targets = List.of(
+            new PurgeTarget("jwt_blacklist", "id", "expires_at", LocalDateTime::now),
+            new PurgeTarget("user_sessions", "id", "expires_at", LocalDateTime::now),
+            new PurgeTarget("audit_logs", "id", "created_at",
+                () -> LocalDateTime.now().minusDays(auditRetentionDays))
+        );
+        meterRegistry.gauge("maintenance.purge.running", running, flag -> flag.get() ? 1 : 0);
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.maintenance.purge.interval-ms:300000}",
+        initialDelayString = "${app.maintenance.purge.initial-delay-ms:60000}"
+    )
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    /**
+     * @return rows deleted per table, or an empty map if this replica did
+     *         not get the lease or a run is already in progress here
+     */
+    public Map<String, Long> run() {
+        if (!running.compareAndSet(false, true)) {
+            return Collections.emptyMap();
+        }
+        try {
+            if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+                return Collections.emptyMap();
+            }
+            try {
+                Map<String, Long> deleted = new LinkedHashMap<>();
+                for (PurgeTarget target : targets) {
+                    Outcome outcome = purge(target);
+                    deleted.put(target.table(), outcome.rows);
+                    if (outcome.stop) {
+                        break;
+                    }
+                }
+                return deleted;
+            } finally {
+                leaseService.release(LEASE_NAME);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Map<String, Map<String, Object>> lastRuns() {
+        return lastRuns;
+    }
+
+    private Outcome purge(PurgeTarget target) {
+        Counter rowsCounter = meterRegistry.counter("maintenance.purge.rows", "table", target.table());
+        Counter chunksCounter = meterRegistry.counter("maintenance.purge.chunks", "table", target.table());
+        Counter pausesCounter = meterRegistry.counter("maintenance.purge.load.pauses", "table", target.table());
+        Timer timer = meterRegistry.timer("maintenance.purge.duration", "table", target.table());
+
+        long started = System.nanoTime();
+        Timestamp cutoff = Timestamp.valueOf(target.cutoff().get());
+        Timestamp lastTime = null;
+        Object lastId = null;
+        long rows = 0;
+        int chunks = 0;
+        String stoppedBy = "done";
+        boolean stop = false;
+
+        try {
+            while (true) {
+                if (!waitForLowLoad(pausesCounter)) {
+                    stoppedBy = "load";
+                    stop = true;
+                    break;
+                }
+
+                List<Object[]> chunk = nextChunk(target, cutoff, lastTime, lastId);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                long chunkStarted = System.nanoTime();
+                int deleted = delete(target, chunk);
+
+                Object[] last = chunk.get(chunk.size() - 1);
+                lastId = last[0];
+                lastTime = (Timestamp) last[1];
+                rows += deleted;
+                chunks++;
+                rowsCounter.increment(deleted);
+                chunksCounter.increment();
+
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+                if (!leaseService.renew(LEASE_NAME, leaseTtl)) {
+                    stoppedBy = "lease lost";
+                    stop = true;
+                    break;
+                }
+                throttle(chunk.size(), chunkStarted);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stoppedBy = "interrupted";
+            stop = true;
+        } catch (Exception e) {
+            stoppedBy = "error: " + e.getMessage();
+            log.warn("Purge of {} stopped after {} rows: {}", target.table(), rows, e.getMessage());
+        }
+
+        long elapsed = System.nanoTime() - started;
+        timer.record(Duration.ofNanos(elapsed));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("finishedAt", LocalDateTime.now());
+        summary.put("cutoff", cutoff.toLocalDateTime());
+        summary.put("rows", rows);
+        summary.put("chunks", chunks);
+        summary.put("durationMs", elapsed / 1_000_000);
+        summary.put("stoppedBy", stoppedBy);
+        lastRuns.put(target.table(), summary);
+        return new Outcome(rows, stop);
+    }
+
+    private List<Object[]> nextChunk(PurgeTarget target, Timestamp cutoff, Timestamp lastTime, Object lastId) {
+        String time = target.timeColumn();
+        String id = target.idColumn();
+        String select = "SELECT " + id + ", " + time + " FROM " + target.table() + " WHERE " + time + " < ?";
+        String order = " ORDER BY " + time + ", " + id + " LIMIT ?";
+        if (lastTime == null) {
+            return jdbcTemplate.query(select + order, PurgeJob::keyRow, cutoff, chunkSize);
+        }
+        return jdbcTemplate.query(
+            select + " AND (" + time + " > ? OR (" + time + " = ? AND " + id + " > ?))" + order,
+            PurgeJob::keyRow, cutoff, lastTime, lastTime, lastId, chunkSize);
+    }
+
+    private int delete(PurgeTarget target, List<Object[]> chunk) {
+        StringBuilder sql = new StringBuilder("DELETE FROM ")
+            .append(target.table()).append(" WHERE ").append(target.idColumn()).append(" IN (");
+        List<Object> ids = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            ids.add(chunk.get(i)[0]);
+        }
+        sql.append(")");
+        return jdbcTemplate.update(sql.toString(), ids.toArray());
+    }
+
+    /**
+     * Sleeps long enough that this chunk stays within max-rows-per-second,
+     * and at least pause-ms so replication and the purge thread catch up
+     */
+    private void throttle(int rows, long chunkStarted) throws InterruptedException {
+        long elapsedMs = (System.nanoTime() - chunkStarted) / 1_000_000;
+        long budgetMs = maxRowsPerSecond > 0 ? rows * 1000L / maxRowsPerSecond : 0;
+        Thread.sleep(Math.max(pauseMs, budgetMs - elapsedMs));
+    }
+
+    private boolean waitForLowLoad(Counter pausesCounter) throws InterruptedException {
+        for (int waits = 0; underLoad(); waits++) {
+            if (waits >= maxLoadWaits) {
+                return false;
+            }
+            pausesCounter.increment();
+            Thread.sleep(loadWaitMs);
+            if (!leaseService.renew(LEASE_NAME, leaseTtl)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean underLoad() {
+        if (pool == null || pool.getHikariPoolMXBean() == null) {
+            return false;
+        }
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        // This job's own connection is already returned between chunks
+        return mxBean.getThreadsAwaitingConnection() > 0
+            || mxBean.getActiveConnections() >= pool.getMaximumPoolSize() * loadThreshold;
+    }
+
+    private static Object[] keyRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Object[] { rs.getObject(1), rs.getTimestamp(2) };
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                ? dataSource.unwrap(HikariDataSource.class)
+                : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    record PurgeTarget(String table, String idColumn, String timeColumn, Supplier<LocalDateTime> cutoff) {
+    }
+
+    private record Outcome(long rows, boolean stop) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.authbackend.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-shot migration job (profile "migrate")
+ *
+ * Flyway has already applied pending migrations while the context started;
+ * this runner reports the resulting state and exits so the job container
+ * terminates. App replicas run with DB_MIGRATION_ENABLED=false and never
+ * touch DDL.
+ *
+ * Usage: SPRING_PROFILES_ACTIVE=mysql,migrate java -jar app.jar
+ */
+@Component
+@Profile("migrate")
+public class MigrationJobRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MigrationJobRunner.class);
+
+    private final Flyway flyway;
+    private final ConfigurableApplicationContext context;
+
+    public MigrationJobRunner(Flyway flyway, ConfigurableApplicationContext context) {
+        this.flyway = flyway;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (MigrationInfo info : flyway.info().all()) {
+            log.info("Migration {} {}: {}{}", info.getVersion(), info.getDescription(), info.getState(),
+                info.getExecutionTime() != null ? " (" + info.getExecutionTime() + " ms)" : "");
+        }
+        int pending = flyway.info().pending().length;
+        log.info("Migrations pending after run: {}", pending);
+
+        int exitCode = pending == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
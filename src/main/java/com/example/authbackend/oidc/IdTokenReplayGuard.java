@@ -0,0 +1,46 @@
+package com.example.authbackend.oidc;
+
+import com.example.authbackend.security.TokenDigests;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Date;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers exchanged ID tokens until they expire, so a captured token
+ * cannot be exchanged again, here or on another instance
+ *
+ * Digests go into jwt_blacklist, whose unique token_hash makes the check
+ * and the insert one statement; the maintenance PurgeJob removes them
+ * after expires_at like any other blacklisted token.
+ */
+@Component
+public class IdTokenReplayGuard {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO jwt_blacklist (token_hash, expires_at, blacklisted_at, reason) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdTokenReplayGuard(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return false if the token was used before
+     */
+    public boolean markUsed(String provider, String idToken, Date expiresAt) {
+        try {
+            jdbcTemplate.update(INSERT_SQL,
+                TokenDigests.sha256Hex(idToken),
+                new Timestamp(expiresAt.getTime()),
+                Timestamp.valueOf(LocalDateTime.now()),
+                "oidc-" + provider + " id token");
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
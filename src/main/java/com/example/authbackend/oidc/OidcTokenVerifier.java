@@ -0,0 +1,333 @@
+package com.example.authbackend.oidc;
+
+import com.example.authbackend.outbound.Destination;
+import com.example.authbackend.outbound.OutboundException;
+import com.example.authbackend.outbound.OutboundHttp;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigInteger;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Local verification of third-party OIDC ID tokens
+ *
+ * Each provider in app.oidc.providers has client-ids (accepted audiences),
+ * issuers and a jwks-uri under app.oidc.&lt;name&gt;.*, and is enabled
+ * once client-ids is set. Its JWKS is fetched through the outbound
+ * destination "oidc-&lt;name&gt;" by a scheduled task, never by a login:
+ * the response's max-age (clamped to min/max-ttl-seconds) sets the
+ * lifetime, and the keys are refetched once refresh-ahead of it has
+ * passed, so they are replaced before they expire. A failed fetch keeps
+ * the previous keys for up to max-stale-seconds past expiry and retries
+ * after min-refresh-interval-ms. A token signed with an unknown kid (a
+ * key rotation not yet seen) triggers one synchronous refetch, at most
+ * once per min-refresh-interval-ms. Only RSA signing keys are used.
+ *
+ * The caller's nonce is required and must match the token's. A token is
+ * accepted once: {@link IdTokenReplayGuard} records it until it expires.
+ */
+@Service
+public class OidcTokenVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(OidcTokenVerifier.class);
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final IdTokenReplayGuard replayGuard;
+    private final Map<String, Provider> providers = new LinkedHashMap<>();
+
+    private final double refreshAhead;
+    private final long minTtlMillis;
+    private final long maxTtlMillis;
+    private final long maxStaleMillis;
+    private final long minRefreshIntervalMillis;
+    private final long clockSkewMillis;
+
+    public OidcTokenVerifier(
+        Environment env,
+        OutboundHttp outboundHttp,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        IdTokenReplayGuard replayGuard,
+        @Value("${app.oidc.providers:}") String providerNames,
+        @Value("${app.oidc.refresh-ahead:0.75}") double refreshAhead,
+        @Value("${app.oidc.min-ttl-seconds:300}") long minTtlSeconds,
+        @Value("${app.oidc.max-ttl-seconds:86400}") long maxTtlSeconds,
+        @Value("${app.oidc.max-stale-seconds:86400}") long maxStaleSeconds,
+        @Value("${app.oidc.min-refresh-interval-ms:30000}") long minRefreshIntervalMillis,
+        @Value("${app.oidc.clock-skew-seconds:60}") long clockSkewSeconds
+    ) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.replayGuard = replayGuard;
+        this.refreshAhead = Math.min(1.0, Math.max(0.1, refreshAhead));
+        this.minTtlMillis = TimeUnit.SECONDS.toMillis(minTtlSeconds);
+        this.maxTtlMillis = TimeUnit.SECONDS.toMillis(maxTtlSeconds);
+        this.maxStaleMillis = TimeUnit.SECONDS.toMillis(maxStaleSeconds);
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+        this.clockSkewMillis = TimeUnit.SECONDS.toMillis(clockSkewSeconds);
+
+        for (String name : split(providerNames)) {
+            String prefix = "app.oidc." + name + ".";
+            Set<String> clientIds = Set.copyOf(split(env.getProperty(prefix + "client-ids", "")));
+            if (clientIds.isEmpty()) {
+                continue;
+            }
+            providers.put(name, new Provider(
+                name,
+                clientIds,
+                Set.copyOf(split(env.getProperty(prefix + "issuers", ""))),
+                outboundHttp.destination("oidc-" + name, env.getProperty(prefix + "jwks-uri")),
+                clockSkewSeconds));
+        }
+    }
+
+    public boolean isEnabled(String provider) {
+        return providers.containsKey(provider);
+    }
+
+    /**
+     * @return the verified identity, or null if the token is invalid, not
+     *         for one of our client ids, lacks a verified email, does not
+     *         carry the nonce, or was already used
+     */
+    public VerifiedIdentity verify(String providerName, String idToken, String nonce) {
+        Provider provider = providers.get(providerName);
+        if (provider == null || idToken == null || nonce == null || nonce.isBlank()) {
+            return null;
+        }
+        Claims claims;
+        try {
+            claims = provider.parser.parseClaimsJws(idToken).getBody();
+        } catch (UnknownKeyException e) {
+            if (!refreshIfAllowed(provider)) {
+                count(provider, provider.keys.isEmpty() ? "no-keys" : "unknown-key");
+                return null;
+            }
+            try {
+                claims = provider.parser.parseClaimsJws(idToken).getBody();
+            } catch (UnknownKeyException retry) {
+                count(provider, provider.keys.isEmpty() ? "no-keys" : "unknown-key");
+                return null;
+            } catch (JwtException | IllegalArgumentException retry) {
+                count(provider, "invalid");
+                return null;
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            count(provider, "invalid");
+            return null;
+        }
+
+        if (claims.getIssuer() == null
+                || !provider.issuers.contains(claims.getIssuer())
+                || claims.getExpiration() == null
+                || !audienceMatches(provider, claims)
+                || !nonce.equals(claims.get("nonce", String.class))) {
+            count(provider, "rejected");
+            return null;
+        }
+        String email = claims.get("email", String.class);
+        Object emailVerified = claims.get("email_verified");
+        if (email == null || email.isBlank()
+                || !(Boolean.TRUE.equals(emailVerified) || "true".equals(emailVerified))) {
+            count(provider, "unverified-email");
+            return null;
+        }
+        // Last, so only tokens that would otherwise be accepted are recorded
+        Date usableUntil = new Date(claims.getExpiration().getTime() + clockSkewMillis);
+        if (!replayGuard.markUsed(providerName, idToken, usableUntil)) {
+            count(provider, "replayed");
+            return null;
+        }
+        count(provider, "verified");
+        return new VerifiedIdentity(providerName, claims.getSubject(), email.trim(), claims.get("name", String.class));
+    }
+
+    /**
+     * Fetches keys that are missing or due for refresh-ahead
+     */
+    @Scheduled(
+        fixedDelayString = "${app.oidc.refresh-check-interval-ms:30000}",
+        initialDelay = 0
+    )
+    public void refreshDue() {
+        long now = System.currentTimeMillis();
+        for (Provider provider : providers.values()) {
+            if (now >= provider.refreshAt) {
+                refresh(provider);
+            }
+        }
+    }
+
+    private boolean refreshIfAllowed(Provider provider) {
+        synchronized (provider) {
+            if (System.currentTimeMillis() - provider.lastAttempt < minRefreshIntervalMillis) {
+                return false;
+            }
+            refresh(provider);
+            return true;
+        }
+    }
+
+    private void refresh(Provider provider) {
+        synchronized (provider) {
+            long now = System.currentTimeMillis();
+            provider.lastAttempt = now;
+            try {
+                HttpRequest request = provider.jwks.request("").header("Accept", "application/json").GET().build();
+                HttpResponse<String> response = provider.jwks.send(request);
+                if (response.statusCode() != 200) {
+                    throw new OutboundException("JWKS returned " + response.statusCode());
+                }
+                Map<String, PublicKey> keys = parseKeys(response.body());
+                if (keys.isEmpty()) {
+                    throw new OutboundException("JWKS has no usable RSA signing keys");
+                }
+                long ttl = response.headers().firstValue("Cache-Control")
+                    .map(MAX_AGE::matcher)
+                    .filter(Matcher::find)
+                    .map(matcher -> TimeUnit.SECONDS.toMillis(Long.parseLong(matcher.group(1))))
+                    .orElse(TimeUnit.HOURS.toMillis(1));
+                ttl = Math.max(minTtlMillis, Math.min(maxTtlMillis, ttl));
+
+                provider.keys = keys;
+                provider.fetchedAt = now;
+                provider.expiresAt = now + ttl;
+                provider.refreshAt = now + (long) (ttl * refreshAhead);
+                provider.lastError = null;
+                meterRegistry.counter("oidc.jwks.fetches", "provider", provider.name, "result", "success").increment();
+            } catch (Exception e) {
+                provider.lastError = e.getMessage();
+                provider.refreshAt = now + minRefreshIntervalMillis;
+                if (!provider.keys.isEmpty() && now > provider.expiresAt + maxStaleMillis) {
+                    provider.keys = Map.of();
+                }
+                meterRegistry.counter("oidc.jwks.fetches", "provider", provider.name, "result", "failure").increment();
+                log.warn("Failed to refresh JWKS for {}: {}", provider.name, e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, PublicKey> parseKeys(String body) throws Exception {
+        Map<String, PublicKey> keys = new HashMap<>();
+        KeyFactory rsa = KeyFactory.getInstance("RSA");
+        for (JsonNode jwk : objectMapper.readTree(body).path("keys")) {
+            String use = jwk.path("use").asText("sig");
+            if (!"RSA".equals(jwk.path("kty").asText()) || !"sig".equals(use) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            try {
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+                keys.put(jwk.get("kid").asText(), rsa.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipping malformed JWK {}: {}", jwk.get("kid").asText(), e.getMessage());
+            }
+        }
+        return keys;
+    }
+
+    private static boolean audienceMatches(Provider provider, Claims claims) {
+        Object aud = claims.get("aud");
+        Collection<?> audiences = aud instanceof Collection<?> list ? list : aud != null ? List.of(aud) : List.of();
+        if (audiences.stream().noneMatch(provider.clientIds::contains)) {
+            return false;
+        }
+        // With several audiences the authorized party must be ours as well
+        String azp = claims.get("azp", String.class);
+        return audiences.size() == 1 || (azp != null && provider.clientIds.contains(azp));
+    }
+
+    private void count(Provider provider, String result) {
+        meterRegistry.counter("oidc.verifications", "provider", provider.name, "result", result).increment();
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(part -> !part.isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    private static final class Provider {
+
+        final String name;
+        final Set<String> clientIds;
+        final Set<String> issuers;
+        final Destination jwks;
+        final JwtParser parser;
+
+        volatile Map<String, PublicKey> keys = Map.of();
+        volatile long fetchedAt;
+        volatile long refreshAt;
+        volatile long expiresAt;
+        volatile long lastAttempt;
+        volatile String lastError;
+
+        Provider(String name, Set<String> clientIds, Set<String> issuers, Destination jwks, long clockSkewSeconds) {
+            this.name = name;
+            this.clientIds = clientIds;
+            this.issuers = issuers;
+            this.jwks = jwks;
+            this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        String algorithm = header.getAlgorithm();
+                        if (algorithm == null || !algorithm.startsWith("RS")) {
+                            throw new UnsupportedJwtException("Unsupported algorithm " + algorithm);
+                        }
+                        PublicKey key = header.getKeyId() != null ? keys.get(header.getKeyId()) : null;
+                        if (key == null) {
+                            throw new UnknownKeyException();
+                        }
+                        return key;
+                    }
+                })
+                .setAllowedClockSkewSeconds(clockSkewSeconds)
+                .build();
+        }
+    }
+
+    private static final class UnknownKeyException extends JwtException {
+
+        UnknownKeyException() {
+            super("Unknown signing key");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.authbackend.oidc;
+
+/**
+ * The claims of a verified ID token that login needs; email is always
+ * one the provider marked verified
+ */
+public record VerifiedIdentity(String provider, String subject, String email, String name) {
+}
@@ -0,0 +1,163 @@
+package com.example.authbackend.outbound;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One remote service reached through the shared HttpClient, with its own
+ * base URL, request timeout, concurrency cap and circuit breaker
+ *
+ * The cap is a semaphore acquired with a short wait, so when the remote
+ * end is slow, extra callers fail fast instead of piling up threads behind
+ * it. 5xx responses, timeouts and I/O errors count as breaker failures;
+ * 4xx do not, since retrying elsewhere would not help.
+ */
+public class Destination {
+
+    private final String name;
+    private final URI baseUri;
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMs;
+    private final CircuitBreaker breaker;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    public Destination(String name,
+                       String baseUrl,
+                       HttpClient client,
+                       Duration requestTimeout,
+                       int maxConcurrent,
+                       long acquireTimeoutMs,
+                       CircuitBreaker breaker,
+                       MeterRegistry meterRegistry) {
+        this.name = name;
+        this.baseUri = baseUrl == null || baseUrl.isBlank() ? null : URI.create(baseUrl);
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.breaker = breaker;
+        this.meterRegistry = meterRegistry;
+        this.rejected = meterRegistry.counter("outbound.rejected", "destination", name);
+        Gauge.builder("outbound.breaker.open", breaker, b -> b.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+            .tag("destination", name)
+            .register(meterRegistry);
+        Gauge.builder("outbound.in-flight", permits, p -> maxConcurrent - p.availablePermits())
+            .tag("destination", name)
+            .register(meterRegistry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean isConfigured() {
+        return baseUri != null;
+    }
+
+    /**
+     * @param path appended to the base URL; empty for the base URL itself
+     */
+    public HttpRequest.Builder request(String path) {
+        if (baseUri == null) {
+            throw new OutboundException(name + " has no base URL configured");
+        }
+        URI uri = path == null || path.isEmpty() ? baseUri : URI.create(baseUri.toString() + path);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(requestTimeout);
+        if ("http".equalsIgnoreCase(uri.getScheme())) {
+            // HTTP/2 is negotiated over TLS; a cleartext h2c upgrade attempt
+            // only holds up other requests to the same host
+            builder.version(HttpClient.Version.HTTP_1_1);
+        }
+        return builder;
+    }
+
+    public HttpResponse<String> send(HttpRequest request) {
+        if (!breaker.tryAcquire()) {
+            rejected.increment();
+            throw new OutboundException(name + " circuit breaker is open");
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OutboundException(name + " call interrupted", e);
+        }
+        if (!acquired) {
+            rejected.increment();
+            // A refused probe must not leave the breaker stuck half-open
+            if (breaker.state() == CircuitBreaker.State.HALF_OPEN) {
+                breaker.onFailure();
+            }
+            throw new OutboundException(name + " has " + maxConcurrent + " calls in flight");
+        }
+
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            outcome = status >= 500 ? "5xx" : status >= 400 ? "4xx" : "success";
+            if (status >= 500) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+            return response;
+        } catch (java.net.http.HttpTimeoutException e) {
+            outcome = "timeout";
+            breaker.onFailure();
+            throw new OutboundException(name + " timed out after " + requestTimeout.toMillis() + " ms", e);
+        } catch (IOException e) {
+            breaker.onFailure();
+            throw new OutboundException(name + " call failed: "
+                + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            breaker.onFailure();
+            throw new OutboundException(name + " call interrupted", e);
+        } catch (RuntimeException e) {
+            // e.g. IllegalArgumentException from the client; must still settle a half-open probe
+            breaker.onFailure();
+            throw new OutboundException(name + " call failed: "
+                + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()), e);
+        } finally {
+            permits.release();
+            Timer.builder("outbound.requests")
+                .tag("destination", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("name", name);
+        info.put("baseUrl", baseUri != null ? baseUri.toString() : null);
+        info.put("requestTimeoutMs", requestTimeout.toMillis());
+        info.put("maxConcurrent", maxConcurrent);
+        info.put("inFlight", maxConcurrent - permits.availablePermits());
+        info.put("breaker", breaker.state());
+        info.put("consecutiveFailures", breaker.consecutiveFailures());
+        return info;
+    }
+}
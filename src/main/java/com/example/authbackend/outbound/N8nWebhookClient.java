@@ -0,0 +1,54 @@
+package com.example.authbackend.outbound;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Posts new-user events to the n8n webhook at app.n8n.webhook-url
+ *
+ * Runs on the caller's thread but is bounded by the "n8n" destination:
+ * a short request timeout, a small concurrency cap that rejects rather
+ * than queues, and a breaker that stops calling a failing endpoint.
+ * Failures are logged and never fail the signup.
+ */
+@Service
+public class N8nWebhookClient {
+
+    private static final Logger log = LoggerFactory.getLogger(N8nWebhookClient.class);
+
+    private final Destination destination;
+    private final ObjectMapper objectMapper;
+
+    public N8nWebhookClient(OutboundHttp outboundHttp,
+                            ObjectMapper objectMapper,
+                            @Value("${app.n8n.webhook-url:}") String webhookUrl) {
+        this.destination = outboundHttp.destination("n8n", webhookUrl);
+        this.objectMapper = objectMapper;
+    }
+
+    public void notifyNewUser(String name, String email) {
+        if (!destination.isConfigured()) {
+            return;
+        }
+        try {
+            String body = objectMapper.writeValueAsString(Map.of("name", name, "email", email));
+            HttpRequest request = destination.request("")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+            HttpResponse<String> response = destination.send(request);
+            if (response.statusCode() >= 300) {
+                log.warn("n8n webhook returned {}", response.statusCode());
+            }
+        } catch (JsonProcessingException | OutboundException e) {
+            log.warn("Failed to trigger n8n: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.authbackend.outbound;
+
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/outbound")
+public class OutboundController {
+
+    private final OutboundHttp outboundHttp;
+
+    public OutboundController(OutboundHttp outboundHttp) {
+        this.outboundHttp = outboundHttp;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> destinations() {
+        return ResponseEntity.ok(outboundHttp.describe());
+    }
+}
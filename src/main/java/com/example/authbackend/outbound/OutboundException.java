@@ -0,0 +1,16 @@
+package com.example.authbackend.outbound;
+
+/**
+ * An outbound call was refused locally (breaker open, concurrency cap) or
+ * failed (timeout, I/O error, 5xx)
+ */
+public class OutboundException extends RuntimeException {
+
+    public OutboundException(String message) {
+        super(message);
+    }
+
+    public OutboundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
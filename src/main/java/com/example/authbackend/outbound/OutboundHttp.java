@@ -0,0 +1,94 @@
+package com.example.authbackend.outbound;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * The process-wide HTTP client for calls to third parties (SendGrid, n8n)
+ *
+ * One java.net.http.HttpClient keeps a pool of keep-alive connections and
+ * negotiates HTTP/2 where the server offers it, falling back to HTTP/1.1.
+ * Each remote service is a named {@link Destination} with its own settings
+ * under app.outbound.&lt;name&gt;.*: base-url, request-timeout-ms,
+ * max-concurrent, acquire-timeout-ms, breaker-failure-threshold and
+ * breaker-open-ms. Pointing base-url at a local stub is enough to test an
+ * integration end to end.
+ */
+@Service
+public class OutboundHttp {
+
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final Environment env;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+
+    public OutboundHttp(
+        Environment env,
+        MeterRegistry meterRegistry,
+        @Value("${app.outbound.connect-timeout-ms:2000}") long connectTimeoutMs,
+        @Value("${app.outbound.threads:4}") int threads
+    ) {
+        this.env = env;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger count = new AtomicInteger();
+        // Only runs the client's own I/O callbacks; callers block on their own threads
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "outbound-http-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .executor(executor)
+            .build();
+    }
+
+    /**
+     * Returns the named destination, creating it from its properties on
+     * first use
+     *
+     * @param defaultBaseUrl used when app.outbound.&lt;name&gt;.base-url is unset
+     */
+    public Destination destination(String name, String defaultBaseUrl) {
+        return destinations.computeIfAbsent(name, key -> {
+            String prefix = "app.outbound." + key + ".";
+            return new Destination(
+                key,
+                env.getProperty(prefix + "base-url", defaultBaseUrl),
+                client,
+                Duration.ofMillis(env.getProperty(prefix + "request-timeout-ms", Long.class, 5000L)),
+                env.getProperty(prefix + "max-concurrent", Integer.class, 8),
+                env.getProperty(prefix + "acquire-timeout-ms", Long.class, 0L),
+                new CircuitBreaker(
+                    env.getProperty(prefix + "breaker-failure-threshold", Integer.class, 5),
+                    env.getProperty(prefix + "breaker-open-ms", Long.class, 30000L)),
+                meterRegistry);
+        });
+    }
+
+    public List<Map<String, Object>> describe() {
+        List<Map<String, Object>> all = new ArrayList<>();
+        destinations.values().forEach(destination -> all.add(destination.describe()));
+        return all;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
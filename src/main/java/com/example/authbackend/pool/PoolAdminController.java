@@ -0,0 +1,113 @@
+package com.example.authbackend.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/pools")
+public class PoolAdminController {
+
+    private final PoolTelemetryService telemetryService;
+    private final PoolSizingAdvisor sizingAdvisor;
+
+    public PoolAdminController(PoolTelemetryService telemetryService,
+                               PoolSizingAdvisor sizingAdvisor) {
+        this.telemetryService = telemetryService;
+        this.sizingAdvisor = sizingAdvisor;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> pools() {
+        List<Map<String, Object>> pools = new ArrayList<>();
+        telemetryService.pools().forEach((beanName, hikari) -> {
+            Map<String, Object> pool = telemetryService.describe(beanName, hikari);
+            pool.put("advice", sizingAdvisor.advise(telemetryService.load(beanName, hikari)));
+            pools.add(pool);
+        });
+        return ResponseEntity.ok(pools);
+    }
+
+    @GetMapping("/{bean}")
+    public ResponseEntity<?> pool(@PathVariable("bean") String bean) {
+        HikariDataSource hikari = telemetryService.pool(bean);
+        if (hikari == null) {
+            return notFound(bean);
+        }
+        Map<String, Object> pool = telemetryService.describe(bean, hikari);
+        pool.put("advice", sizingAdvisor.advise(telemetryService.load(bean, hikari)));
+        return ResponseEntity.ok(pool);
+    }
+
+    /**
+     * Resize a running pool without a restart. Hikari applies a new maximum
+     * immediately for acquisition and trims idle connections on its next
+     * housekeeping pass.
+     */
+    @PutMapping("/{bean}/size")
+    public ResponseEntity<?> resize(@PathVariable("bean") String bean,
+                                    @RequestBody ResizeRequest request) {
+        HikariDataSource hikari = telemetryService.pool(bean);
+        if (hikari == null) {
+            return notFound(bean);
+        }
+        int maximum = request.getMaximumPoolSize() != null
+            ? request.getMaximumPoolSize()
+            : hikari.getMaximumPoolSize();
+        int minimum = request.getMinimumIdle() != null
+            ? request.getMinimumIdle()
+            : Math.min(hikari.getMinimumIdle(), maximum);
+        if (maximum < 1 || minimum < 0 || minimum > maximum) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", "Require 1 <= maximumPoolSize and 0 <= minimumIdle <= maximumPoolSize");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        // The config MXBean is the supported path for runtime changes once the pool is sealed
+        HikariConfigMXBean config = hikari.getHikariConfigMXBean();
+        if (maximum >= config.getMaximumPoolSize()) {
+            config.setMaximumPoolSize(maximum);
+            config.setMinimumIdle(minimum);
+        } else {
+            config.setMinimumIdle(minimum);
+            config.setMaximumPoolSize(maximum);
+        }
+        return ResponseEntity.ok(telemetryService.describe(bean, hikari));
+    }
+
+    private ResponseEntity<Map<String, Object>> notFound(String bean) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("message", "No Hikari pool bean named " + bean);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    public static class ResizeRequest {
+
+        private Integer maximumPoolSize;
+        private Integer minimumIdle;
+
+        public ResizeRequest() {}
+
+        public Integer getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(Integer maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public Integer getMinimumIdle() {
+            return minimumIdle;
+        }
+
+        public void setMinimumIdle(Integer minimumIdle) {
+            this.minimumIdle = minimumIdle;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.authbackend.pool;
+
+import com.example.authbackend.pool.PoolTelemetryService.PoolLoad;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recommends a pool size from observed concurrency and query latency
+ *
+ * Uses Little's law: connections in use = acquisition rate x mean hold
+ * time. The result gets a headroom factor, is never below the observed
+ * peak (plus waiters when requests queued or timed out), and is clamped
+ * to [min-size, max-size].
+ */
+@Component
+public class PoolSizingAdvisor {
+
+    private final double headroom;
+    private final int minSize;
+    private final int maxSize;
+
+    public PoolSizingAdvisor(
+        @Value("${app.pool.advisor.headroom:1.5}") double headroom,
+        @Value("${app.pool.advisor.min-size:2}") int minSize,
+        @Value("${app.pool.advisor.max-size:50}") int maxSize
+    ) {
+        this.headroom = headroom;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+    }
+
+    public Map<String, Object> advise(PoolLoad load) {
+        Map<String, Object> advice = new LinkedHashMap<>();
+        if (load == null || load.acquisitions() == 0) {
+            advice.put("recommendedMaximumPoolSize", null);
+            advice.put("reason", "No traffic observed yet");
+            return advice;
+        }
+
+        double littleL = load.acquisitionsPerSecond() * (load.meanUsageMs() / 1000.0);
+        int fromLatency = (int) Math.ceil(littleL * headroom);
+
+        boolean starved = load.peakPending() > 0 || load.timeouts() > 0;
+        int fromPeak = starved
+            ? load.peakActive() + load.peakPending()
+            : load.peakActive();
+
+        int recommended = Math.max(minSize, Math.min(maxSize, Math.max(fromLatency, fromPeak)));
+
+        advice.put("recommendedMaximumPoolSize", recommended);
+        advice.put("currentMaximumPoolSize", load.currentMaximum());
+        advice.put("meanConcurrentConnections", littleL);
+        advice.put("peakActive", load.peakActive());
+        advice.put("peakPending", load.peakPending());
+        advice.put("timeouts", load.timeouts());
+        advice.put("windowSeconds", load.windowSeconds());
+
+        if (starved && recommended > load.currentMaximum()) {
+            advice.put("reason", "Requests waited for connections; grow the pool");
+        } else if (recommended < load.currentMaximum()) {
+            advice.put("reason", "Pool is larger than observed demand; shrink to free DB connections");
+        } else {
+            advice.put("reason", "Pool size matches observed demand");
+        }
+        return advice;
+    }
+}
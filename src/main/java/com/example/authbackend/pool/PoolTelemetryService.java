@@ -0,0 +1,295 @@
+package com.example.authbackend.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Live telemetry for every Hikari pool bean in the context
+ *
+ * Gauges (active/idle/pending) come from the pool MXBean, timings and
+ * timeout counts from the Micrometer meters Hikari publishes under
+ * hikaricp.connections.*. A scheduled sampler tracks peak concurrency per
+ * window so the sizing advisor can work from observed load.
+ */
+@Service
+public class PoolTelemetryService {
+
+    private static final String METER_ACQUIRE = "hikaricp.connections.acquire";
+    private static final String METER_USAGE = "hikaricp.connections.usage";
+    private static final String METER_TIMEOUT = "hikaricp.connections.timeout";
+
+    private final Map<String, DataSource> dataSources;
+    private final MeterRegistry meterRegistry;
+    private final long windowMs;
+    private final Map<String, PoolWindow> windows = new ConcurrentHashMap<>();
+
+    public PoolTelemetryService(
+        Map<String, DataSource> dataSources,
+        MeterRegistry meterRegistry,
+        @Value("${app.pool.telemetry.window-seconds:300}") long windowSeconds
+    ) {
+        this.dataSources = dataSources;
+        this.meterRegistry = meterRegistry;
+        this.windowMs = TimeUnit.SECONDS.toMillis(windowSeconds);
+    }
+
+    /**
+     * Hikari pools keyed by bean name, including pools not yet started
+     */
+    public Map<String, HikariDataSource> pools() {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        dataSources.forEach((beanName, dataSource) -> {
+            HikariDataSource hikari = unwrap(dataSource);
+            if (hikari != null) {
+                pools.put(beanName, hikari);
+            }
+        });
+        return pools;
+    }
+
+    public HikariDataSource pool(String beanName) {
+        DataSource dataSource = dataSources.get(beanName);
+        return dataSource != null ? unwrap(dataSource) : null;
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.pool.telemetry.sample-interval-ms:1000}",
+        initialDelayString = "${app.pool.telemetry.sample-interval-ms:1000}"
+    )
+    public void sample() {
+        long now = System.currentTimeMillis();
+        pools().forEach((beanName, hikari) -> {
+            HikariPoolMXBean mxBean = hikari.getHikariPoolMXBean();
+            if (mxBean == null) {
+                return;
+            }
+            PoolWindow window = windows.computeIfAbsent(beanName, name ->
+                new PoolWindow(now, counters(hikari.getPoolName()))
+            );
+            window.observe(mxBean.getActiveConnections(), mxBean.getThreadsAwaitingConnection());
+            if (now - window.startedAt >= windowMs) {
+                window.roll(now, counters(hikari.getPoolName()));
+            }
+        });
+    }
+
+    /**
+     * Full telemetry for one pool: gauges, timings, histogram and window stats
+     */
+    public Map<String, Object> describe(String beanName, HikariDataSource hikari) {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        String poolName = hikari.getPoolName();
+        pool.put("bean", beanName);
+        pool.put("poolName", poolName);
+        pool.put("jdbcUrl", maskConnectionUrl(hikari.getJdbcUrl()));
+        pool.put("maximumPoolSize", hikari.getMaximumPoolSize());
+        pool.put("minimumIdle", hikari.getMinimumIdle());
+        pool.put("connectionTimeoutMs", hikari.getConnectionTimeout());
+
+        HikariPoolMXBean mxBean = hikari.getHikariPoolMXBean();
+        if (mxBean == null) {
+            pool.put("status", "NOT_STARTED");
+            return pool;
+        }
+        pool.put("status", hikari.isClosed() ? "CLOSED" : "RUNNING");
+        pool.put("active", mxBean.getActiveConnections());
+        pool.put("idle", mxBean.getIdleConnections());
+        pool.put("total", mxBean.getTotalConnections());
+        pool.put("pending", mxBean.getThreadsAwaitingConnection());
+
+        Timer acquire = timer(METER_ACQUIRE, poolName);
+        Timer usage = timer(METER_USAGE, poolName);
+        pool.put("acquire", timerSummary(acquire));
+        pool.put("usage", timerSummary(usage));
+        pool.put("timeouts", (long) timeoutCount(poolName));
+        pool.put("metricsBound", acquire != null);
+
+        PoolWindow window = windows.get(beanName);
+        if (window != null) {
+            pool.put("window", window.describe(counters(poolName)));
+        }
+        return pool;
+    }
+
+    /**
+     * Load observed over the last completed window, or the current one if
+     * no window has completed yet
+     */
+    public PoolLoad load(String beanName, HikariDataSource hikari) {
+        PoolWindow window = windows.get(beanName);
+        if (window == null) {
+            return null;
+        }
+        return window.load(counters(hikari.getPoolName()), hikari.getMaximumPoolSize());
+    }
+
+    private Counters counters(String poolName) {
+        Timer acquire = timer(METER_ACQUIRE, poolName);
+        Timer usage = timer(METER_USAGE, poolName);
+        return new Counters(
+            acquire != null ? acquire.count() : 0,
+            usage != null ? usage.totalTime(TimeUnit.MILLISECONDS) : 0,
+            usage != null ? usage.count() : 0,
+            timeoutCount(poolName)
+        );
+    }
+
+    private Timer timer(String name, String poolName) {
+        return meterRegistry.find(name).tag("pool", poolName).timer();
+    }
+
+    private double timeoutCount(String poolName) {
+        Counter counter = meterRegistry.find(METER_TIMEOUT).tag("pool", poolName).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private Map<String, Object> timerSummary(Timer timer) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (timer == null) {
+            return summary;
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        summary.put("count", snapshot.count());
+        summary.put("meanMs", snapshot.mean(TimeUnit.MILLISECONDS));
+        summary.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+
+        List<Map<String, Object>> buckets = new ArrayList<>();
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("leMs", bucket.bucket(TimeUnit.MILLISECONDS));
+            entry.put("count", (long) bucket.count());
+            buckets.add(entry);
+        }
+        summary.put("histogram", buckets);
+        return summary;
+    }
+
+    private HikariDataSource unwrap(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari;
+        }
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (Exception ignored) {
+            // Not a Hikari pool
+        }
+        return null;
+    }
+
+    private String maskConnectionUrl(String url) {
+        if (url == null) return "null";
+        return url.replaceAll(":[^:@/]+@", ":****@");
+    }
+
+    /**
+     * Cumulative meter readings at a point in time
+     */
+    private record Counters(long acquired, double usageTotalMs, long usageCount, double timeouts) {
+    }
+
+    /**
+     * Observed load for one window, consumed by the sizing advisor
+     */
+    public record PoolLoad(
+        double windowSeconds,
+        long acquisitions,
+        double meanUsageMs,
+        int peakActive,
+        int peakPending,
+        long timeouts,
+        int currentMaximum
+    ) {
+        public double acquisitionsPerSecond() {
+            return windowSeconds > 0 ? acquisitions / windowSeconds : 0;
+        }
+    }
+
+    /**
+     * Peak tracking for the current window plus the last completed one
+     */
+    private static class PoolWindow {
+
+        private long startedAt;
+        private Counters atStart;
+        private int peakActive;
+        private int peakPending;
+        private PoolLoad completed;
+
+        PoolWindow(long startedAt, Counters atStart) {
+            this.startedAt = startedAt;
+            this.atStart = atStart;
+        }
+
+        synchronized void observe(int active, int pending) {
+            peakActive = Math.max(peakActive, active);
+            peakPending = Math.max(peakPending, pending);
+        }
+
+        synchronized void roll(long now, Counters current) {
+            completed = build(current, now, -1);
+            startedAt = now;
+            atStart = current;
+            peakActive = 0;
+            peakPending = 0;
+        }
+
+        synchronized PoolLoad load(Counters current, int currentMaximum) {
+            if (completed != null) {
+                return new PoolLoad(
+                    completed.windowSeconds(),
+                    completed.acquisitions(),
+                    completed.meanUsageMs(),
+                    completed.peakActive(),
+                    completed.peakPending(),
+                    completed.timeouts(),
+                    currentMaximum
+                );
+            }
+            return build(current, System.currentTimeMillis(), currentMaximum);
+        }
+
+        synchronized Map<String, Object> describe(Counters current) {
+            PoolLoad load = build(current, System.currentTimeMillis(), -1);
+            Map<String, Object> window = new LinkedHashMap<>();
+            window.put("seconds", load.windowSeconds());
+            window.put("acquisitions", load.acquisitions());
+            window.put("acquisitionsPerSecond", load.acquisitionsPerSecond());
+            window.put("meanUsageMs", load.meanUsageMs());
+            window.put("peakActive", load.peakActive());
+            window.put("peakPending", load.peakPending());
+            window.put("timeouts", load.timeouts());
+            return window;
+        }
+
+        private PoolLoad build(Counters current, long now, int currentMaximum) {
+            long usageCount = current.usageCount() - atStart.usageCount();
+            double usageMs = current.usageTotalMs() - atStart.usageTotalMs();
+            return new PoolLoad(
+                (now - startedAt) / 1000.0,
+                current.acquired() - atStart.acquired(),
+                usageCount > 0 ? usageMs / usageCount : 0,
+                peakActive,
+                peakPending,
+                (long) (current.timeouts() - atStart.timeouts()),
+                currentMaximum
+            );
+        }
+    }
+}
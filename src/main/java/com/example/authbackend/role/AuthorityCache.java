@@ -0,0 +1,125 @@
+package com.example.authbackend.role;
+
+import com.example.authbackend.session.SessionStore;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-user granted authorities, cached so authorization does not join
+ * user_roles and roles on every request
+ *
+ * Authority lists are immutable and interned by role set: the thousands
+ * of users who are plain USER all share one list instance. Entries expire
+ * after app.security.authority-cache.ttl-seconds, which bounds staleness
+ * when another instance changes an assignment. Past
+ * app.security.authority-cache.max-entries, Caffeine evicts the users
+ * least used recently rather than starting over. Changes go through
+ * {@link #invalidate}, which stamps users.authorities_changed_at so that
+ * every instance stops trusting roles embedded in older tokens; see
+ * {@link SessionStore#userChangedSince}.
+ */
+@Component
+public class AuthorityCache {
+
+    static final String DEFAULT_ROLE = "USER";
+
+    private static final String MARK_CHANGED_SQL =
+        "UPDATE users SET authorities_changed_at = ? WHERE id = ?";
+
+    private final UserRoleRepository userRoleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionStore sessionStore;
+    private final long ttlNanos;
+
+    private final Map<Long, Entry> byUser;
+    private final Map<List<String>, List<GrantedAuthority>> interned = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public AuthorityCache(
+        UserRoleRepository userRoleRepository,
+        JdbcTemplate jdbcTemplate,
+        SessionStore sessionStore,
+        MeterRegistry meterRegistry,
+        @Value("${app.security.authority-cache.ttl-seconds:300}") long ttlSeconds,
+        @Value("${app.security.authority-cache.max-entries:100000}") int maxEntries
+    ) {
+        this.userRoleRepository = userRoleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionStore = sessionStore;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.byUser = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .<Long, Entry>build()
+            .asMap();
+        this.hits = meterRegistry.counter("authority.cache", "result", "hit");
+        this.misses = meterRegistry.counter("authority.cache", "result", "miss");
+        meterRegistry.gaugeMapSize("authority.cache.size", List.of(), byUser);
+    }
+
+    public List<GrantedAuthority> authoritiesFor(Long userId) {
+        long now = System.nanoTime();
+        Entry entry = byUser.get(userId);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            hits.increment();
+            return entry.authorities;
+        }
+        misses.increment();
+
+        List<GrantedAuthority> authorities = intern(userRoleRepository.findRoleNamesByUserId(userId));
+        byUser.put(userId, new Entry(authorities, now));
+        return authorities;
+    }
+
+    /**
+     * Role names without the ROLE_ prefix, as embedded in tokens
+     */
+    public List<String> roleNamesFor(Long userId) {
+        return authoritiesFor(userId).stream()
+            .map(authority -> authority.getAuthority().substring("ROLE_".length()))
+            .toList();
+    }
+
+    /**
+     * Builds the shared authority list for role names carried in a token
+     */
+    public List<GrantedAuthority> fromRoleNames(List<String> roleNames) {
+        return intern(roleNames);
+    }
+
+    /**
+     * Call after changing the user's roles or enabled flag. Takes effect
+     * here at once; other instances see it when their session L1 entry
+     * for the user is reloaded.
+     */
+    public void invalidate(Long userId) {
+        byUser.remove(userId);
+        jdbcTemplate.update(MARK_CHANGED_SQL, Timestamp.valueOf(LocalDateTime.now()), userId);
+        sessionStore.evictUser(userId);
+    }
+
+    private List<GrantedAuthority> intern(List<String> roleNames) {
+        List<String> key = roleNames.isEmpty()
+            ? List.of(DEFAULT_ROLE)
+            : roleNames.stream().distinct().sorted().toList();
+        return interned.computeIfAbsent(key, names -> names.stream()
+            .<GrantedAuthority>map(name -> new SimpleGrantedAuthority("ROLE_" + name))
+            .toList());
+    }
+
+    private record Entry(List<GrantedAuthority> authorities, long loadedAt) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.authbackend.role;
+
+import com.example.authbackend.auth.AuthController.ErrorResponse;
+import com.example.authbackend.user.User;
+import com.example.authbackend.user.UserRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/users/{id}/roles")
+public class RoleAdminController {
+
+    private final UserRepository userRepository;
+    private final RoleService roleService;
+
+    public RoleAdminController(UserRepository userRepository, RoleService roleService) {
+        this.userRepository = userRepository;
+        this.roleService = roleService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> roles(@PathVariable("id") Long id) {
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("User not found"));
+        }
+        return ResponseEntity.ok(body(user, roleService.roleNamesFor(user.getId())));
+    }
+
+    /**
+     * Replace the user's roles. Takes effect on this instance immediately,
+     * including for tokens that embed the old roles. Other instances stop
+     * trusting embedded roles once their session L1 entry is reloaded
+     * (app.sessions.l1-ttl-seconds), and pick up the new roles for other
+     * tokens when their authority cache entry expires.
+     */
+    @PutMapping
+    public ResponseEntity<?> replace(@PathVariable("id") Long id,
+                                     @RequestBody RolesRequest request,
+                                     Authentication authentication) {
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("User not found"));
+        }
+        if (request.getRoles() == null || request.getRoles().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("At least one role is required"));
+        }
+
+        Long assignedBy = userRepository.findByEmail(authentication.getName())
+            .map(User::getId)
+            .orElse(null);
+        try {
+            List<String> roles = roleService.replaceRoles(user, request.getRoles(), assignedBy);
+            return ResponseEntity.ok(body(user, roles));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> body(User user, List<String> roles) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("id", user.getId());
+        body.put("email", user.getEmail());
+        body.put("roles", roles);
+        return body;
+    }
+
+    public static class RolesRequest {
+
+        private Set<String> roles;
+
+        public RolesRequest() {}
+
+        public Set<String> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(Set<String> roles) {
+            this.roles = roles;
+        }
+    }
+}
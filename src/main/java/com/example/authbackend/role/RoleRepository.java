@@ -0,0 +1,13 @@
+package com.example.authbackend.role;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RoleRepository extends JpaRepository<Role, Long> {
+
+    Optional<Role> findByName(String name);
+
+    List<Role> findByNameIn(Collection<String> names);
+}
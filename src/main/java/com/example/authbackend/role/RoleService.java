@@ -0,0 +1,188 @@
+package com.example.authbackend.role;
+
+import com.example.authbackend.user.User;
+import com.example.authbackend.user.UserRepository;
+import com.example.authbackend.user.UserStatisticsService;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class RoleService {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleService.class);
+
+    // Same rows the MySQL baseline seeds; created here for H2 and fresh databases
+    private static final Map<String, String> BUILT_IN_ROLES = Map.of(
+        "USER", "Standard user role with basic permissions",
+        "ADMIN", "Administrator role with full system access",
+        "MODERATOR", "Moderator role with limited administrative permissions",
+        "SERVICE", "Internal service allowed to introspect tokens"
+    );
+
+    private final RoleRepository roleRepository;
+    private final UserRoleRepository userRoleRepository;
+    private final AuthorityCache authorityCache;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserStatisticsService userStatisticsService;
+    private final Set<String> bootstrapAdmins;
+    private final String bootstrapAdminPassword;
+
+    public RoleService(RoleRepository roleRepository,
+                       UserRoleRepository userRoleRepository,
+                       AuthorityCache authorityCache,
+                       UserRepository userRepository,
+                       PasswordEncoder passwordEncoder,
+                       UserStatisticsService userStatisticsService,
+                       @Value("${app.security.bootstrap-admins:}") String bootstrapAdmins,
+                       @Value("${app.security.bootstrap-admin-password:}") String bootstrapAdminPassword) {
+        this.roleRepository = roleRepository;
+        this.userRoleRepository = userRoleRepository;
+        this.authorityCache = authorityCache;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userStatisticsService = userStatisticsService;
+        this.bootstrapAdminPassword = bootstrapAdminPassword;
+        this.bootstrapAdmins = Arrays.stream(bootstrapAdmins.split(","))
+            .map(email -> email.trim().toLowerCase(Locale.ROOT))
+            .filter(email -> !email.isEmpty())
+            .collect(Collectors.toSet());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void ensureBuiltInRoles() {
+        try {
+            BUILT_IN_ROLES.forEach((name, description) -> {
+                if (roleRepository.findByName(name).isEmpty()) {
+                    roleRepository.save(new Role(name, description));
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Could not seed built-in roles: {}", e.getMessage());
+            return;
+        }
+        try {
+            seedBootstrapAdmins();
+        } catch (Exception e) {
+            log.warn("Could not seed bootstrap admins: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * USER for every new account, plus ADMIN for addresses listed in
+     * app.security.bootstrap-admins when the email is already verified
+     * (provider sign-in). Anyone can sign up with a listed address, so an
+     * unverified account only gets ADMIN through {@link #onEmailVerified}.
+     */
+    @Transactional
+    public void assignDefaultRoles(User user) {
+        Set<String> roles = new LinkedHashSet<>();
+        roles.add(AuthorityCache.DEFAULT_ROLE);
+        if (user.isEmailVerified() && isBootstrapAdmin(user)) {
+            roles.add("ADMIN");
+        }
+        // Nothing is cached or issued for a new account yet. Stamping
+        // authorities_changed_at here would land in the same second as the
+        // signup token and keep it off the session fast path.
+        saveRoles(user, roles, null);
+    }
+
+    /**
+     * Grants ADMIN to a listed bootstrap admin once they proved they own
+     * the address
+     */
+    @Transactional
+    public void onEmailVerified(User user) {
+        if (!user.isEmailVerified() || !isBootstrapAdmin(user)) {
+            return;
+        }
+        Set<String> roles = new LinkedHashSet<>(userRoleRepository.findRoleNamesByUserId(user.getId()));
+        roles.add(AuthorityCache.DEFAULT_ROLE);
+        if (roles.add("ADMIN")) {
+            replaceRoles(user, roles, null);
+            log.info("Granted ADMIN to bootstrap admin {}", user.getEmail());
+        }
+    }
+
+    /**
+     * Replaces the user's role set and invalidates cached and token-embedded
+     * authorities for them
+     *
+     * @throws IllegalArgumentException if a role name does not exist
+     */
+    @Transactional
+    public List<String> replaceRoles(User user, Set<String> roleNames, Long assignedBy) {
+        List<String> saved = saveRoles(user, roleNames, assignedBy);
+        authorityCache.invalidate(user.getId());
+        return saved;
+    }
+
+    private List<String> saveRoles(User user, Set<String> roleNames, Long assignedBy) {
+        Set<String> normalized = roleNames.stream()
+            .map(name -> name.trim().toUpperCase(Locale.ROOT))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<Role> roles = roleRepository.findByNameIn(normalized);
+        if (roles.size() != normalized.size()) {
+            Set<String> found = roles.stream().map(Role::getName).collect(Collectors.toSet());
+            normalized.removeAll(found);
+            throw new IllegalArgumentException("Unknown roles: " + normalized);
+        }
+
+        userRoleRepository.deleteByUserId(user.getId());
+        userRoleRepository.saveAll(roles.stream()
+            .map(role -> new UserRole(user.getId(), role.getId(), assignedBy))
+            .toList());
+        return roles.stream().map(Role::getName).sorted().toList();
+    }
+
+    /**
+     * Out-of-band bootstrap at startup. A listed admin with no account is
+     * created with app.security.bootstrap-admin-password, already verified.
+     * An existing account gets ADMIN only if its email is verified.
+     */
+    private void seedBootstrapAdmins() {
+        for (String email : bootstrapAdmins) {
+            User user = userRepository.findCurrentByEmail(email).orElse(null);
+            if (user == null) {
+                if (bootstrapAdminPassword.isBlank()) {
+                    continue;
+                }
+                user = new User();
+                user.setName("Admin");
+                user.setEmail(email);
+                user.setPassword(passwordEncoder.encode(bootstrapAdminPassword));
+                user.setEmailVerified(true);
+                userRepository.save(user);
+                userStatisticsService.onSignup(user);
+                log.info("Created bootstrap admin {}", email);
+            }
+            if (user.isEmailVerified()) {
+                onEmailVerified(user);
+            } else {
+                log.warn("Bootstrap admin {} has not verified their email, ADMIN not granted", email);
+            }
+        }
+    }
+
+    private boolean isBootstrapAdmin(User user) {
+        return bootstrapAdmins.contains(user.getEmail().toLowerCase(Locale.ROOT));
+    }
+
+    public List<String> roleNamesFor(Long userId) {
+        return authorityCache.roleNamesFor(userId);
+    }
+}
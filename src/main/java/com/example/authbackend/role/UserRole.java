@@ -0,0 +1,83 @@
+package com.example.authbackend.role;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "user_roles")
+public class UserRole {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "assigned_at")
+    private LocalDateTime assignedAt;
+
+    @Column(name = "assigned_by")
+    private Long assignedBy;
+
+    public UserRole() {
+    }
+
+    public UserRole(Long userId, Long roleId, Long assignedBy) {
+        this.id = new Key(userId, roleId);
+        this.assignedAt = LocalDateTime.now();
+        this.assignedBy = assignedBy;
+    }
+
+    public Key getId() {
+        return id;
+    }
+
+    public LocalDateTime getAssignedAt() {
+        return assignedAt;
+    }
+
+    public Long getAssignedBy() {
+        return assignedBy;
+    }
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+
+        @Column(name = "role_id", nullable = false)
+        private Long roleId;
+
+        public Key() {
+        }
+
+        public Key(Long userId, Long roleId) {
+            this.userId = userId;
+            this.roleId = roleId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Long getRoleId() {
+            return roleId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(userId, other.userId) && Objects.equals(roleId, other.roleId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, roleId);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.authbackend.role;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserRoleRepository extends JpaRepository<UserRole, UserRole.Key> {
+
+    @Query("select r.name from UserRole ur, Role r where r.id = ur.id.roleId and ur.id.userId = :userId")
+    List<String> findRoleNamesByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from UserRole ur where ur.id.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
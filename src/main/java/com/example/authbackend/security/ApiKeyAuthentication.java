@@ -0,0 +1,41 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.apikey.ApiKeyIndex;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+/**
+ * A request authenticated by API key. The name is "apikey:&lt;key name&gt;"
+ * and the authorities are the key's scopes; SecurityConfig keeps these
+ * principals off endpoints that expect a user.
+ */
+public class ApiKeyAuthentication extends AbstractAuthenticationToken {
+
+    private final Long keyId;
+    private final String name;
+
+    public ApiKeyAuthentication(ApiKeyIndex.Entry entry) {
+        super(entry.authorities());
+        this.keyId = entry.id();
+        this.name = "apikey:" + entry.name();
+        setAuthenticated(true);
+    }
+
+    public Long getKeyId() {
+        return keyId;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return name;
+    }
+}
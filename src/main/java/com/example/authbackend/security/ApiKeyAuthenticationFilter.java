@@ -0,0 +1,70 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.apikey.ApiKeyIndex;
+import com.example.authbackend.audit.AuditAction;
+import com.example.authbackend.audit.AuditService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Authenticates X-API-Key requests from ApiKeyIndex, ahead of
+ * JwtAuthenticationFilter. An unknown key leaves the request
+ * unauthenticated; a key over its rate limit gets 429 here.
+ */
+@Component
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-API-Key";
+
+    private static final byte[] RATE_LIMITED_BODY =
+            "{\"message\":\"API key rate limit exceeded\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ApiKeyIndex apiKeyIndex;
+    private final AuditService auditService;
+
+    public ApiKeyAuthenticationFilter(ApiKeyIndex apiKeyIndex, AuditService auditService) {
+        this.apiKeyIndex = apiKeyIndex;
+        this.auditService = auditService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String key = request.getHeader(HEADER);
+        if (key == null || key.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ApiKeyIndex.Entry entry = apiKeyIndex.find(key);
+        if (entry == null) {
+            auditService.record(AuditAction.TOKEN_REJECTED, null, null, false, "Invalid or expired API key");
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterMillis = apiKeyIndex.tryAcquire(entry);
+        if (retryAfterMillis > 0) {
+            response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf((retryAfterMillis + 999) / 1000));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(RATE_LIMITED_BODY);
+            return;
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(new ApiKeyAuthentication(entry));
+        filterChain.doFilter(request, response);
+    }
+}
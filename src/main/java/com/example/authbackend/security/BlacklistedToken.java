@@ -0,0 +1,59 @@
+package com.example.authbackend.security;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Mapping of jwt_blacklist, so the table exists on H2 as well as MySQL and
+ * the maintenance purge can treat both alike
+ */
+@Entity
+@Table(name = "jwt_blacklist")
+public class BlacklistedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "blacklisted_at")
+    private LocalDateTime blacklistedAt;
+
+    @Column(length = 100)
+    private String reason;
+
+    public BlacklistedToken() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getBlacklistedAt() {
+        return blacklistedAt;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -1,29 +1,34 @@
 package com.example.authbackend.security;
 
+import com.example.authbackend.role.AuthorityCache;
 import com.example.authbackend.user.User;
-import com.example.authbackend.user.UserRepository;
+import com.example.authbackend.user.UserLookup;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
+    private final AuthorityCache authorityCache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public CustomUserDetailsService(UserLookup userLookup,
+                                    AuthorityCache authorityCache) {
+        this.userLookup = userLookup;
+        this.authorityCache = authorityCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = userLookup.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         return org.springframework.security.core.userdetails.User
                 .withUsername(user.getEmail())
                 .password(user.getPassword())
-                .authorities("ROLE_USER")
+                .authorities(authorityCache.authoritiesFor(user.getId()))
+                .disabled(!user.isEnabled())
                 .build();
     }
 }
@@ -0,0 +1,73 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.auth.AuthController.ErrorResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * RFC 7662-style token introspection for internal services (ADMIN or
+ * SERVICE role, or an API key with the introspect scope). The single form
+ * takes the standard token form field and answers with Cache-Control; the
+ * batch form returns one result per token in request order, each with its
+ * own cache_max_age.
+ */
+@RestController
+@RequestMapping("/api/introspect")
+public class IntrospectionController {
+
+    private final TokenIntrospectionService introspectionService;
+    private final int maxBatchSize;
+
+    public IntrospectionController(TokenIntrospectionService introspectionService,
+                                   @Value("${app.introspection.max-batch-size:500}") int maxBatchSize) {
+        this.introspectionService = introspectionService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<IntrospectionResult> introspect(@RequestParam("token") String token) {
+        IntrospectionResult result = introspectionService.introspect(token);
+        CacheControl cacheControl = result.cacheMaxAge() > 0
+            ? CacheControl.maxAge(Duration.ofSeconds(result.cacheMaxAge())).cachePrivate()
+            : CacheControl.noStore();
+        return ResponseEntity.ok().cacheControl(cacheControl).body(result);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> batch(@RequestBody BatchRequest request) {
+        List<String> tokens = request.getTokens();
+        if (tokens == null || tokens.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("tokens is required"));
+        }
+        if (tokens.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("At most " + maxBatchSize + " tokens per request"));
+        }
+        Map<String, Object> body = new HashMap<>();
+        body.put("results", introspectionService.introspectAll(tokens));
+        // Results differ in lifetime; callers cache each by its cache_max_age
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(body);
+    }
+
+    public static class BatchRequest {
+
+        private List<String> tokens;
+
+        public BatchRequest() {}
+
+        public List<String> getTokens() {
+            return tokens;
+        }
+
+        public void setTokens(List<String> tokens) {
+            this.tokens = tokens;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.authbackend.security;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * One token's introspection response in RFC 7662 field names, plus how
+ * many seconds the caller may reuse it
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IntrospectionResult(
+    boolean active,
+    String sub,
+    Long exp,
+    Long iat,
+    List<String> authorities,
+    @JsonProperty("cache_max_age") long cacheMaxAge
+) {
+
+    static IntrospectionResult inactive(long cacheMaxAge) {
+        return new IntrospectionResult(false, null, null, null, null, cacheMaxAge);
+    }
+}
@@ -1,27 +1,43 @@
 package com.example.authbackend.security;
 
+import com.example.authbackend.audit.AuditAction;
+import com.example.authbackend.audit.AuditService;
+import com.example.authbackend.role.AuthorityCache;
+import com.example.authbackend.session.SessionStore;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final AuditService auditService;
+    private final AuthorityCache authorityCache;
+    private final SessionStore sessionStore;
 
     public JwtAuthenticationFilter(JwtService jwtService,
-                                   UserDetailsService userDetailsService) {
+                                   UserDetailsService userDetailsService,
+                                   AuditService auditService,
+                                   AuthorityCache authorityCache,
+                                   SessionStore sessionStore) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.auditService = auditService;
+        this.authorityCache = authorityCache;
+        this.sessionStore = sessionStore;
     }
 
     @Override
@@ -37,15 +53,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = header.substring(7);
-        if (jwtService.validateToken(token)) {
-            String email = jwtService.getEmailFromToken(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        Claims claims = jwtService.parseClaims(token);
+        String sessionId = claims != null ? claims.get(JwtService.SESSION_CLAIM, String.class) : null;
+        if (claims != null && sessionId != null && sessionStore.isEnabled()
+                && !sessionStore.checkAndTouch(sessionId)) {
+            auditService.record(AuditAction.TOKEN_REJECTED, null, claims.getSubject(), false, "Session revoked or expired");
+        } else if (claims != null) {
+            if (sessionId != null) {
+                request.setAttribute(SessionStore.REQUEST_ATTRIBUTE, sessionId);
+            }
+            String email = claims.getSubject();
+            List<?> roles = claims.get(JwtService.ROLES_CLAIM, List.class);
 
-            UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
+            UsernamePasswordAuthenticationToken auth;
+            if (roles != null && sessionId != null && sessionStore.isEnabled()
+                    && !sessionStore.userChangedSince(sessionId, claims.getIssuedAt())) {
+                // Embedded at issue time; the session check just confirmed the user is
+                // still enabled and their roles have not changed since
+                List<GrantedAuthority> authorities = authorityCache.fromRoleNames(
+                        roles.stream().map(String::valueOf).toList());
+                auth = new UsernamePasswordAuthenticationToken(email, null, authorities);
+            } else {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                auth = userDetails.isEnabled()
+                        ? new UsernamePasswordAuthenticationToken(
+                                userDetails, null, userDetails.getAuthorities())
+                        : null;
+            }
 
-            SecurityContextHolder.getContext().setAuthentication(auth);
+            if (auth != null) {
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
+        } else {
+            auditService.record(AuditAction.TOKEN_REJECTED, null, null, false, "Invalid or expired token");
         }
         filterChain.doFilter(request, response);
     }
@@ -1,5 +1,7 @@
 package com.example.authbackend.security;
 
+import com.example.authbackend.role.AuthorityCache;
+import com.example.authbackend.settings.AppSettingsService;
 import com.example.authbackend.user.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
@@ -12,40 +14,73 @@ import java.util.Date;
 @Service
 public class JwtService {
 
+    static final String ROLES_CLAIM = "roles";
+    static final String SESSION_CLAIM = "sid";
+
     private final Key key;
-    private final long expirationMs;
+    // Immutable and thread-safe; building one per call re-resolves the key each time
+    private final JwtParser parser;
+    private final boolean embedAuthorities;
+    private final AuthorityCache authorityCache;
+    private final AppSettingsService settingsService;
 
     public JwtService(@Value("${app.jwt.secret}") String secret,
-                      @Value("${app.jwt.expiration-ms}") long expirationMs) {
+                      @Value("${app.jwt.embed-authorities:false}") boolean embedAuthorities,
+                      AuthorityCache authorityCache,
+                      AppSettingsService settingsService) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
-        this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.embedAuthorities = embedAuthorities;
+        this.authorityCache = authorityCache;
+        this.settingsService = settingsService;
     }
 
     public String generateToken(User user) {
+        return generateToken(user, null);
+    }
+
+    /**
+     * @param sessionId user_sessions id the token is bound to, or null
+     */
+    public String generateToken(User user, String sessionId) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expirationMs);
+        // jwt.expiration.hours from app_settings, app.jwt.expiration-ms if unset
+        Date expiryDate = new Date(now.getTime() + settingsService.current().jwtExpirationMs());
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(user.getEmail())
                 .claim("name", user.getName())
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(expiryDate);
+        if (sessionId != null) {
+            builder.claim(SESSION_CLAIM, sessionId);
+        }
+        if (embedAuthorities) {
+            // Lets JwtAuthenticationFilter authorize without a user lookup
+            builder.claim(ROLES_CLAIM, authorityCache.roleNamesFor(user.getId()));
+        }
+        return builder.signWith(key, SignatureAlgorithm.HS256).compact();
+    }
+
+    /**
+     * Verifies the signature and expiry once and returns the claims, or
+     * null if the token is not valid
+     */
+    public Claims parseClaims(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (JwtException ex) {
             return false;
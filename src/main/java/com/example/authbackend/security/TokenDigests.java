@@ -0,0 +1,42 @@
+package com.example.authbackend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Random one-time tokens and the SHA-256 digests stored in their place.
+ * A database leak then exposes no usable token, and lookups stay a
+ * single indexed equality match on the digest.
+ */
+public final class TokenDigests {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private TokenDigests() {
+    }
+
+    /**
+     * @return 256 random bits, URL-safe base64 without padding
+     */
+    public static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @return lowercase hex SHA-256 of the token, 64 characters
+     */
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
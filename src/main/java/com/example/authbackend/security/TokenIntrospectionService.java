@@ -0,0 +1,170 @@
+package com.example.authbackend.security;
+
+import com.example.authbackend.role.AuthorityCache;
+import com.example.authbackend.session.SessionStore;
+import com.example.authbackend.user.User;
+import com.example.authbackend.user.UserLookup;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+/**
+ * Token introspection for other services, one token or a batch at a time
+ *
+ * Each token gets the same checks JwtAuthenticationFilter applies:
+ * signature and expiry through JwtService's shared parser, the session
+ * L1, then embedded authorities if still current or the cached user and
+ * authority lookups otherwise. A batch is de-duplicated and, past
+ * parallel-threshold tokens, split across the introspection executor with
+ * the calling thread taking a share. Active results may be reused for
+ * active-cache-seconds, capped at the token's expiry; inactive ones for
+ * inactive-cache-seconds.
+ */
+@Service
+public class TokenIntrospectionService {
+
+    private final JwtService jwtService;
+    private final SessionStore sessionStore;
+    private final AuthorityCache authorityCache;
+    private final UserLookup userLookup;
+    private final TaskExecutor executor;
+
+    private final int parallelism;
+    private final int parallelThreshold;
+    private final long activeCacheSeconds;
+    private final long inactiveCacheSeconds;
+
+    private final Counter active;
+    private final Counter inactive;
+
+    public TokenIntrospectionService(
+        JwtService jwtService,
+        SessionStore sessionStore,
+        AuthorityCache authorityCache,
+        UserLookup userLookup,
+        @Qualifier("introspectionExecutor") TaskExecutor executor,
+        MeterRegistry meterRegistry,
+        @Value("${app.introspection.threads:0}") int threads,
+        @Value("${app.introspection.parallel-threshold:16}") int parallelThreshold,
+        @Value("${app.introspection.active-cache-seconds:60}") long activeCacheSeconds,
+        @Value("${app.introspection.inactive-cache-seconds:300}") long inactiveCacheSeconds
+    ) {
+        this.jwtService = jwtService;
+        this.sessionStore = sessionStore;
+        this.authorityCache = authorityCache;
+        this.userLookup = userLookup;
+        this.executor = executor;
+        this.parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+        this.activeCacheSeconds = activeCacheSeconds;
+        this.inactiveCacheSeconds = inactiveCacheSeconds;
+
+        this.active = meterRegistry.counter("introspection.tokens", "result", "active");
+        this.inactive = meterRegistry.counter("introspection.tokens", "result", "inactive");
+    }
+
+    public IntrospectionResult introspect(String token) {
+        IntrospectionResult result = evaluate(token);
+        (result.active() ? active : inactive).increment();
+        return result;
+    }
+
+    /**
+     * @return one result per token, in request order
+     */
+    public List<IntrospectionResult> introspectAll(List<String> tokens) {
+        Map<String, Integer> index = new LinkedHashMap<>();
+        for (String token : tokens) {
+            index.putIfAbsent(token != null ? token : "", index.size());
+        }
+        List<String> distinct = new ArrayList<>(index.keySet());
+        IntrospectionResult[] results = new IntrospectionResult[distinct.size()];
+
+        int chunks = Math.min(parallelism, (distinct.size() + parallelThreshold - 1) / parallelThreshold);
+        if (chunks <= 1) {
+            introspectRange(distinct, results, 0, distinct.size());
+        } else {
+            int chunkSize = (distinct.size() + chunks - 1) / chunks;
+            List<CompletableFuture<Void>> forked = new ArrayList<>();
+            for (int from = chunkSize; from < distinct.size(); from += chunkSize) {
+                int start = from;
+                int end = Math.min(from + chunkSize, distinct.size());
+                forked.add(CompletableFuture.runAsync(() -> introspectRange(distinct, results, start, end), executor));
+            }
+            introspectRange(distinct, results, 0, chunkSize);
+            try {
+                CompletableFuture.allOf(forked.toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        List<IntrospectionResult> ordered = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            ordered.add(results[index.get(token != null ? token : "")]);
+        }
+        return ordered;
+    }
+
+    private void introspectRange(List<String> tokens, IntrospectionResult[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = introspect(tokens.get(i));
+        }
+    }
+
+    private IntrospectionResult evaluate(String token) {
+        if (token == null || token.isBlank()) {
+            return IntrospectionResult.inactive(inactiveCacheSeconds);
+        }
+        Claims claims = jwtService.parseClaims(token);
+        if (claims == null) {
+            return IntrospectionResult.inactive(inactiveCacheSeconds);
+        }
+        String sessionId = claims.get(JwtService.SESSION_CLAIM, String.class);
+        if (sessionId != null && sessionStore.isEnabled() && !sessionStore.checkAndTouch(sessionId)) {
+            return IntrospectionResult.inactive(inactiveCacheSeconds);
+        }
+
+        String email = claims.getSubject();
+        List<?> roles = claims.get(JwtService.ROLES_CLAIM, List.class);
+        List<GrantedAuthority> authorities;
+        if (roles != null && sessionId != null && sessionStore.isEnabled()
+                && !sessionStore.userChangedSince(sessionId, claims.getIssuedAt())) {
+            authorities = authorityCache.fromRoleNames(roles.stream().map(String::valueOf).toList());
+        } else {
+            Optional<User> user = userLookup.findByEmail(email);
+            if (user.isEmpty() || !user.get().isEnabled()) {
+                return IntrospectionResult.inactive(inactiveCacheSeconds);
+            }
+            authorities = authorityCache.authoritiesFor(user.get().getId());
+        }
+
+        Date expiration = claims.getExpiration();
+        long cacheMaxAge = activeCacheSeconds;
+        if (expiration != null) {
+            long secondsLeft = (expiration.getTime() - System.currentTimeMillis()) / 1000;
+            cacheMaxAge = Math.max(0, Math.min(cacheMaxAge, secondsLeft));
+        }
+        return new IntrospectionResult(
+            true,
+            email,
+            expiration != null ? expiration.getTime() / 1000 : null,
+            claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() / 1000 : null,
+            authorities.stream().map(GrantedAuthority::getAuthority).toList(),
+            cacheMaxAge
+        );
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.authbackend.session;
+
+import com.example.authbackend.user.User;
+import com.example.authbackend.user.UserLookup;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * The caller's own login sessions, one per device/login
+ */
+@RestController
+@RequestMapping("/api/user/sessions")
+@CrossOrigin(
+    origins = { "http://localhost:5173", "http://localhost:3000" },
+    allowCredentials = "true"
+)
+public class SessionController {
+
+    private final SessionStore sessionStore;
+    private final UserLookup userLookup;
+
+    public SessionController(SessionStore sessionStore, UserLookup userLookup) {
+        this.sessionStore = sessionStore;
+        this.userLookup = userLookup;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> sessions(Authentication authentication, HttpServletRequest request) {
+        User user = currentUser(authentication);
+        if (user == null) {
+            return notFound("User not found");
+        }
+        Object current = request.getAttribute(SessionStore.REQUEST_ATTRIBUTE);
+        List<Map<String, Object>> sessions = sessionStore.listForUser(user.getId()).stream()
+            .map(session -> {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("id", session.id());
+                entry.put("current", session.id().equals(current));
+                entry.put("ipAddress", session.ipAddress());
+                entry.put("userAgent", session.userAgent());
+                entry.put("createdAt", session.createdAt());
+                entry.put("lastAccessedAt", session.lastAccessedAt());
+                entry.put("expiresAt", session.expiresAt());
+                return entry;
+            })
+            .toList();
+        return ResponseEntity.ok(sessions);
+    }
+
+    /**
+     * Log out one device. Revoking the current session is a logout.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> revoke(@PathVariable("id") String id, Authentication authentication) {
+        User user = currentUser(authentication);
+        if (user == null || !sessionStore.revoke(id, user.getId())) {
+            return notFound("Session not found");
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Log out every other device, keeping the session making this call
+     */
+    @DeleteMapping
+    public ResponseEntity<?> revokeOthers(Authentication authentication, HttpServletRequest request) {
+        User user = currentUser(authentication);
+        if (user == null) {
+            return notFound("User not found");
+        }
+        Object current = request.getAttribute(SessionStore.REQUEST_ATTRIBUTE);
+        int revoked = sessionStore.revokeAll(user.getId(), current != null ? current.toString() : null);
+        Map<String, Object> body = new HashMap<>();
+        body.put("revoked", revoked);
+        return ResponseEntity.ok(body);
+    }
+
+    private User currentUser(Authentication authentication) {
+        return userLookup.findByEmail(authentication.getName()).orElse(null);
+    }
+
+    private static ResponseEntity<Map<String, Object>> notFound(String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("message", message);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+}
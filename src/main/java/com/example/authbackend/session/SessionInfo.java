@@ -0,0 +1,30 @@
+package com.example.authbackend.session;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable view of one user_sessions row as held in the L1 cache
+ */
+public record SessionInfo(
+    String id,
+    Long userId,
+    String ipAddress,
+    String userAgent,
+    LocalDateTime createdAt,
+    LocalDateTime lastAccessedAt,
+    LocalDateTime expiresAt,
+    boolean active
+) {
+
+    public boolean isUsable(LocalDateTime now) {
+        return active && expiresAt.isAfter(now);
+    }
+
+    SessionInfo revoked() {
+        return new SessionInfo(id, userId, ipAddress, userAgent, createdAt, lastAccessedAt, expiresAt, false);
+    }
+
+    SessionInfo withLastAccessedAt(LocalDateTime accessedAt) {
+        return new SessionInfo(id, userId, ipAddress, userAgent, createdAt, accessedAt, expiresAt, active);
+    }
+}
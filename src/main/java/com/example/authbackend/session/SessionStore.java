@@ -0,0 +1,305 @@
+package com.example.authbackend.session;
+
+import com.example.authbackend.security.RequestInfo;
+import com.example.authbackend.security.TokenDigests;
+import com.example.authbackend.settings.AppSettingsService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-device login sessions on user_sessions, fronted by an in-memory L1
+ *
+ * Tokens carry a session id; JwtAuthenticationFilter checks it against the
+ * L1 on every request. A cached entry is trusted for
+ * app.sessions.l1-ttl-seconds, so the database is only read on a miss or
+ * when an entry goes stale, which is also how revocations made on other
+ * instances arrive. Access times are coalesced per session in memory and
+ * written in one JDBC batch per flush interval instead of an UPDATE per
+ * request. Expired rows are removed by the maintenance PurgeJob.
+ *
+ * The L1 entry also carries the owner's enabled flag and
+ * authorities_changed_at, read in the same query, so roles embedded in a
+ * token can be checked without another lookup; see
+ * {@link #userChangedSince}. The L1 holds at most app.sessions.l1-max-entries
+ * sessions; past that, Caffeine evicts the ones least used recently.
+ */
+@Service
+public class SessionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionStore.class);
+
+    public static final String REQUEST_ATTRIBUTE = "authbackend.sessionId";
+
+    private static final String COLUMNS =
+        "id, user_id, ip_address, user_agent, created_at, last_accessed_at, expires_at, active";
+    private static final String INSERT_SQL =
+        "INSERT INTO user_sessions (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, TRUE)";
+    private static final String SELECT_BY_ID_SQL =
+        "SELECT s.id, s.user_id, s.ip_address, s.user_agent, s.created_at, s.last_accessed_at, s.expires_at, " +
+        "s.active, u.enabled AS user_enabled, u.authorities_changed_at " +
+        "FROM user_sessions s JOIN users u ON u.id = s.user_id WHERE s.id = ?";
+    private static final String SELECT_BY_USER_SQL =
+        "SELECT " + COLUMNS + " FROM user_sessions WHERE user_id = ? AND active = TRUE AND expires_at > ? " +
+        "ORDER BY last_accessed_at DESC";
+    private static final String TOUCH_SQL =
+        "UPDATE user_sessions SET last_accessed_at = ? WHERE id = ?";
+    private static final String REVOKE_SQL =
+        "UPDATE user_sessions SET active = FALSE WHERE id = ? AND user_id = ?";
+    private static final String REVOKE_ALL_SQL =
+        "UPDATE user_sessions SET active = FALSE WHERE user_id = ? AND active = TRUE AND id <> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppSettingsService settingsService;
+    private final boolean enabled;
+    private final long l1TtlNanos;
+
+    private final Map<String, Cached> l1;
+    private final Map<String, LocalDateTime> pendingTouches = new ConcurrentHashMap<>();
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter touchesFlushed;
+
+    public SessionStore(
+        JdbcTemplate jdbcTemplate,
+        AppSettingsService settingsService,
+        MeterRegistry meterRegistry,
+        @Value("${app.sessions.enabled:true}") boolean enabled,
+        @Value("${app.sessions.l1-ttl-seconds:60}") long l1TtlSeconds,
+        @Value("${app.sessions.l1-max-entries:50000}") int l1MaxEntries
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settingsService = settingsService;
+        this.enabled = enabled;
+        this.l1TtlNanos = TimeUnit.SECONDS.toNanos(l1TtlSeconds);
+        this.l1 = Caffeine.newBuilder()
+            .maximumSize(l1MaxEntries)
+            .<String, Cached>build()
+            .asMap();
+
+        this.l1Hits = meterRegistry.counter("sessions.l1", "result", "hit");
+        this.l1Misses = meterRegistry.counter("sessions.l1", "result", "miss");
+        this.touchesFlushed = meterRegistry.counter("sessions.touches.flushed");
+        meterRegistry.gaugeMapSize("sessions.l1.size", List.of(), l1);
+        meterRegistry.gaugeMapSize("sessions.touches.pending", List.of(), pendingTouches);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Opens a session for a fresh login, expiring with the token
+     *
+     * @return the session id, or null when sessions are disabled
+     */
+    public String create(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        HttpServletRequest request = RequestInfo.currentRequest();
+        LocalDateTime now = LocalDateTime.now();
+        SessionInfo session = new SessionInfo(
+            TokenDigests.newToken(),
+            userId,
+            request != null ? truncate(RequestInfo.clientIp(request), 45) : null,
+            request != null ? request.getHeader("User-Agent") : null,
+            now,
+            now,
+            now.plusNanos(TimeUnit.MILLISECONDS.toNanos(settingsService.current().jwtExpirationMs())),
+            true
+        );
+        jdbcTemplate.update(INSERT_SQL,
+            session.id(), session.userId(), session.ipAddress(), session.userAgent(),
+            Timestamp.valueOf(session.createdAt()), Timestamp.valueOf(session.lastAccessedAt()),
+            Timestamp.valueOf(session.expiresAt()));
+        // A fresh login: the user is enabled and the token postdates any change
+        cache(session, new UserState(true, null));
+        return session.id();
+    }
+
+    /**
+     * Hot path: validates the session and records the access. Reads the
+     * database only on an L1 miss or a stale entry.
+     */
+    public boolean checkAndTouch(String sessionId) {
+        SessionInfo session = find(sessionId);
+        LocalDateTime now = LocalDateTime.now();
+        if (session == null || !session.isUsable(now)) {
+            return false;
+        }
+        pendingTouches.put(sessionId, now);
+        return true;
+    }
+
+    /**
+     * True if the session's owner was disabled, or had roles changed at or
+     * after issuedAt, as of the L1 entry loaded by {@link #checkAndTouch}.
+     * Also true when there is no entry, so callers fall back to a full
+     * lookup.
+     */
+    public boolean userChangedSince(String sessionId, Date issuedAt) {
+        Cached cached = l1.get(sessionId);
+        if (cached == null || !cached.user.enabled()) {
+            return true;
+        }
+        LocalDateTime changedAt = cached.user.authoritiesChangedAt();
+        // iat is truncated to the second, so a token from the same second counts as stale
+        return changedAt != null
+            && (issuedAt == null || !issuedAt.toInstant().isAfter(changedAt.atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
+    /**
+     * Drops the user's L1 entries so the next request rereads the enabled
+     * flag and authorities_changed_at
+     */
+    public void evictUser(Long userId) {
+        l1.values().removeIf(cached -> cached.session.userId().equals(userId));
+    }
+
+    public List<SessionInfo> listForUser(Long userId) {
+        List<SessionInfo> sessions = jdbcTemplate.query(SELECT_BY_USER_SQL, SessionStore::mapRow,
+            userId, Timestamp.valueOf(LocalDateTime.now()));
+        // Overlay access times that have not been flushed yet
+        return sessions.stream()
+            .map(session -> {
+                LocalDateTime pending = pendingTouches.get(session.id());
+                return pending != null ? session.withLastAccessedAt(pending) : session;
+            })
+            .sorted(Comparator.comparing(SessionInfo::lastAccessedAt,
+                Comparator.nullsLast(Comparator.reverseOrder())))
+            .toList();
+    }
+
+    public boolean revoke(String sessionId, Long userId) {
+        if (jdbcTemplate.update(REVOKE_SQL, sessionId, userId) == 0) {
+            return false;
+        }
+        Cached cached = l1.get(sessionId);
+        if (cached != null) {
+            l1.put(sessionId, new Cached(cached.session.revoked(), cached.user, cached.loadedAt));
+        }
+        pendingTouches.remove(sessionId);
+        return true;
+    }
+
+    /**
+     * Revokes every active session of the user except keepSessionId
+     * (may be null)
+     */
+    public int revokeAll(Long userId, String keepSessionId) {
+        int updated = jdbcTemplate.update(REVOKE_ALL_SQL, userId, keepSessionId != null ? keepSessionId : "");
+        l1.replaceAll((id, cached) -> cached.session.userId().equals(userId) && !id.equals(keepSessionId)
+            ? new Cached(cached.session.revoked(), cached.user, cached.loadedAt)
+            : cached);
+        return updated;
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.sessions.touch-flush-interval-ms:10000}",
+        initialDelayString = "${app.sessions.touch-flush-interval-ms:10000}"
+    )
+    public void flushTouches() {
+        if (pendingTouches.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, LocalDateTime>> batch = new ArrayList<>();
+        for (String sessionId : pendingTouches.keySet()) {
+            LocalDateTime accessedAt = pendingTouches.remove(sessionId);
+            if (accessedAt != null) {
+                batch.add(Map.entry(sessionId, accessedAt));
+            }
+        }
+        batch.sort(Map.Entry.comparingByKey());
+
+        try {
+            jdbcTemplate.batchUpdate(TOUCH_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+                ps.setString(2, entry.getKey());
+            });
+            touchesFlushed.increment(batch.size());
+        } catch (Exception e) {
+            // Keep the newest time per session for the next flush
+            batch.forEach(entry -> pendingTouches.merge(entry.getKey(), entry.getValue(),
+                (a, b) -> a.isAfter(b) ? a : b));
+            log.warn("Failed to flush {} session touches: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushTouches();
+    }
+
+    private SessionInfo find(String sessionId) {
+        Cached cached = l1.get(sessionId);
+        if (cached != null && System.nanoTime() - cached.loadedAt < l1TtlNanos) {
+            l1Hits.increment();
+            return cached.session;
+        }
+        l1Misses.increment();
+        List<Cached> rows = jdbcTemplate.query(SELECT_BY_ID_SQL, (rs, rowNum) -> {
+            Timestamp changedAt = rs.getTimestamp("authorities_changed_at");
+            return new Cached(mapRow(rs, rowNum),
+                new UserState(rs.getBoolean("user_enabled"), changedAt != null ? changedAt.toLocalDateTime() : null),
+                0);
+        }, sessionId);
+        if (rows.isEmpty()) {
+            l1.remove(sessionId);
+            return null;
+        }
+        Cached row = rows.get(0);
+        cache(row.session, row.user);
+        return row.session;
+    }
+
+    private void cache(SessionInfo session, UserState user) {
+        l1.put(session.id(), new Cached(session, user, System.nanoTime()));
+    }
+
+    private static SessionInfo mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp lastAccessed = rs.getTimestamp("last_accessed_at");
+        Timestamp created = rs.getTimestamp("created_at");
+        return new SessionInfo(
+            rs.getString("id"),
+            rs.getLong("user_id"),
+            rs.getString("ip_address"),
+            rs.getString("user_agent"),
+            created != null ? created.toLocalDateTime() : null,
+            lastAccessed != null ? lastAccessed.toLocalDateTime() : null,
+            rs.getTimestamp("expires_at").toLocalDateTime(),
+            rs.getBoolean("active")
+        );
+    }
+
+    private static String truncate(String value, int max) {
+        return value != null && value.length() > max ? value.substring(0, max) : value;
+    }
+
+    private record Cached(SessionInfo session, UserState user, long loadedAt) {
+    }
+
+    private record UserState(boolean enabled, LocalDateTime authoritiesChangedAt) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.authbackend.session;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Mapping of user_sessions. SessionStore reads and writes the table via
+ * JDBC; the entity keeps the H2 schema in sync.
+ */
+@Entity
+@Table(name = "user_sessions")
+public class UserSession {
+
+    @Id
+    @Column(length = 128)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "ip_address", length = 45)
+    private String ipAddress;
+
+    @Column(name = "user_agent", columnDefinition = "TEXT")
+    private String userAgent;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_accessed_at")
+    private LocalDateTime lastAccessedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    private Boolean active;
+
+    public UserSession() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getLastAccessedAt() {
+        return lastAccessedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+}
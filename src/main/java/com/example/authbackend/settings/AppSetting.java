@@ -0,0 +1,57 @@
+package com.example.authbackend.settings;
+
+import jakarta.persistence.*;
+
+/**
+ * Mapping of app_settings. Reads and writes go through AppSettingsService
+ * via JDBC; the entity keeps the H2 schema in sync.
+ */
+@Entity
+@Table(name = "app_settings")
+public class AppSetting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "setting_key", nullable = false, unique = true, length = 100)
+    private String key;
+
+    @Column(name = "setting_value", columnDefinition = "TEXT")
+    private String value;
+
+    @Column(name = "setting_type", length = 20)
+    private String type;
+
+    private String description;
+
+    @Column(name = "updated_by")
+    private Long updatedBy;
+
+    public AppSetting() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Long getUpdatedBy() {
+        return updatedBy;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.authbackend.settings;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of app_settings, parsed once per refresh
+ *
+ * Hot paths read the typed fields; raw holds every row as loaded,
+ * including keys the code does not interpret.
+ */
+public record AppSettings(
+    long jwtExpirationMs,
+    int loginMaxAttempts,
+    int lockoutMinutes,
+    boolean registrationEnabled,
+    Map<String, String> raw,
+    LocalDateTime loadedAt
+) {
+
+    public static final String JWT_EXPIRATION_HOURS = "jwt.expiration.hours";
+    public static final String LOGIN_MAX_ATTEMPTS = "login.max.attempts";
+    public static final String ACCOUNT_LOCKOUT_MINUTES = "account.lockout.minutes";
+    public static final String REGISTRATION_ENABLED = "registration.enabled";
+
+    public AppSettings {
+        raw = Map.copyOf(raw);
+    }
+}
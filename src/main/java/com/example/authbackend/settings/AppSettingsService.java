@@ -0,0 +1,177 @@
+package com.example.authbackend.settings;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runtime settings from app_settings, hot-reloadable without a redeploy
+ *
+ * The table is read into an immutable {@link AppSettings} snapshot and
+ * published through a volatile reference, so readers (token issuance,
+ * login lockout, signup) do a single field read and never hit the
+ * database or take a lock. The snapshot is rebuilt every
+ * app.settings.refresh-interval-ms and after an admin update. A missing
+ * or unparseable row falls back to the application property default; a
+ * failed refresh keeps the previous snapshot.
+ */
+@Service
+public class AppSettingsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppSettingsService.class);
+
+    private static final String SELECT_SQL = "SELECT setting_key, setting_value FROM app_settings";
+    private static final String UPDATE_SQL =
+        "UPDATE app_settings SET setting_value = ?, updated_by = ? WHERE setting_key = ?";
+    private static final String INSERT_SQL =
+        "INSERT INTO app_settings (setting_key, setting_value, setting_type, updated_by) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long defaultJwtExpirationMs;
+    private final int defaultLoginMaxAttempts;
+    private final int defaultLockoutMinutes;
+    private final boolean defaultRegistrationEnabled;
+
+    private volatile AppSettings current;
+
+    public AppSettingsService(
+        JdbcTemplate jdbcTemplate,
+        @Value("${app.jwt.expiration-ms}") long defaultJwtExpirationMs,
+        @Value("${app.settings.defaults.login-max-attempts:5}") int defaultLoginMaxAttempts,
+        @Value("${app.settings.defaults.account-lockout-minutes:30}") int defaultLockoutMinutes,
+        @Value("${app.settings.defaults.registration-enabled:true}") boolean defaultRegistrationEnabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultJwtExpirationMs = defaultJwtExpirationMs;
+        this.defaultLoginMaxAttempts = defaultLoginMaxAttempts;
+        this.defaultLockoutMinutes = defaultLockoutMinutes;
+        this.defaultRegistrationEnabled = defaultRegistrationEnabled;
+        // Usable before the first refresh, e.g. if app_settings does not exist yet
+        this.current = parse(Map.of(), false);
+    }
+
+    public AppSettings current() {
+        return current;
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.settings.refresh-interval-ms:30000}",
+        initialDelay = 0
+    )
+    public AppSettings refresh() {
+        try {
+            Map<String, String> raw = new HashMap<>();
+            jdbcTemplate.query(SELECT_SQL, rs -> {
+                String value = rs.getString(2);
+                if (value != null) {
+                    raw.put(rs.getString(1), value);
+                }
+            });
+            current = parse(raw, false);
+        } catch (Exception e) {
+            log.warn("Failed to refresh app settings, keeping previous values: {}", e.getMessage());
+        }
+        return current;
+    }
+
+    /**
+     * Writes one setting and republishes the snapshot
+     *
+     * @throws IllegalArgumentException if the value does not parse for a
+     *         setting the application interprets
+     */
+    public AppSettings update(String key, String value, Long updatedBy) {
+        Map<String, String> candidate = new HashMap<>(current.raw());
+        candidate.put(key, value);
+        parse(candidate, true);
+
+        int updated = jdbcTemplate.update(UPDATE_SQL, value, updatedBy, key);
+        if (updated == 0) {
+            jdbcTemplate.update(INSERT_SQL, key, value, typeOf(key), updatedBy);
+        }
+        return refresh();
+    }
+
+    private AppSettings parse(Map<String, String> raw, boolean strict) {
+        long jwtExpirationMs = defaultJwtExpirationMs;
+        String hours = raw.get(AppSettings.JWT_EXPIRATION_HOURS);
+        if (hours != null) {
+            Double parsed = parseNumber(AppSettings.JWT_EXPIRATION_HOURS, hours, strict);
+            if (parsed != null && parsed > 0) {
+                jwtExpirationMs = (long) (parsed * TimeUnit.HOURS.toMillis(1));
+            } else if (strict) {
+                throw new IllegalArgumentException(AppSettings.JWT_EXPIRATION_HOURS + " must be positive");
+            }
+        }
+
+        return new AppSettings(
+            jwtExpirationMs,
+            parsePositiveInt(raw, AppSettings.LOGIN_MAX_ATTEMPTS, defaultLoginMaxAttempts, strict),
+            parsePositiveInt(raw, AppSettings.ACCOUNT_LOCKOUT_MINUTES, defaultLockoutMinutes, strict),
+            parseBoolean(raw, AppSettings.REGISTRATION_ENABLED, defaultRegistrationEnabled, strict),
+            raw,
+            LocalDateTime.now()
+        );
+    }
+
+    private static int parsePositiveInt(Map<String, String> raw, String key, int fallback, boolean strict) {
+        String value = raw.get(key);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        return invalid(key, value, fallback, strict);
+    }
+
+    private static boolean parseBoolean(Map<String, String> raw, String key, boolean fallback, boolean strict) {
+        String value = raw.get(key);
+        if (value == null) {
+            return fallback;
+        }
+        String normalized = value.trim().toLowerCase();
+        if (normalized.equals("true") || normalized.equals("false")) {
+            return Boolean.parseBoolean(normalized);
+        }
+        return invalid(key, value, fallback, strict);
+    }
+
+    private static Double parseNumber(String key, String value, boolean strict) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return invalid(key, value, null, strict);
+        }
+    }
+
+    private static <T> T invalid(String key, String value, T fallback, boolean strict) {
+        if (strict) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+        log.warn("Ignoring invalid app setting {}={}, using {}", key, value, fallback);
+        return fallback;
+    }
+
+    private static String typeOf(String key) {
+        return switch (key) {
+            case AppSettings.JWT_EXPIRATION_HOURS,
+                 AppSettings.LOGIN_MAX_ATTEMPTS,
+                 AppSettings.ACCOUNT_LOCKOUT_MINUTES -> "INTEGER";
+            case AppSettings.REGISTRATION_ENABLED -> "BOOLEAN";
+            default -> "STRING";
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.authbackend.settings;
+
+import com.example.authbackend.user.User;
+import com.example.authbackend.user.UserRepository;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/settings")
+public class SettingsAdminController {
+
+    private final AppSettingsService settingsService;
+    private final UserRepository userRepository;
+
+    public SettingsAdminController(AppSettingsService settingsService,
+                                   UserRepository userRepository) {
+        this.settingsService = settingsService;
+        this.userRepository = userRepository;
+    }
+
+    @GetMapping
+    public ResponseEntity<AppSettings> settings() {
+        return ResponseEntity.ok(settingsService.current());
+    }
+
+    /**
+     * Re-read app_settings now, e.g. after editing the table directly
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AppSettings> refresh() {
+        return ResponseEntity.ok(settingsService.refresh());
+    }
+
+    /**
+     * Update one setting. This instance applies it immediately; others
+     * pick it up on their next scheduled refresh.
+     */
+    @PutMapping("/{key:.+}")
+    public ResponseEntity<?> update(@PathVariable("key") String key,
+                                    @RequestBody UpdateRequest request,
+                                    Authentication authentication) {
+        if (request.getValue() == null) {
+            return badRequest("value is required");
+        }
+        Long updatedBy = userRepository.findByEmail(authentication.getName())
+            .map(User::getId)
+            .orElse(null);
+        try {
+            return ResponseEntity.ok(settingsService.update(key, request.getValue(), updatedBy));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> badRequest(String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("message", message);
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    public static class UpdateRequest {
+
+        private String value;
+
+        public UpdateRequest() {}
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+}
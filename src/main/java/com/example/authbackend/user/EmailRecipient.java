@@ -0,0 +1,13 @@
+package com.example.authbackend.user;
+
+/**
+ * Projection of the users columns a bulk email needs
+ */
+public interface EmailRecipient {
+
+    Long getId();
+
+    String getEmail();
+
+    String getName();
+}
@@ -0,0 +1,141 @@
+package com.example.authbackend.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesced, write-behind tracking of users.last_login_at and login_count
+ *
+ * Logins merge into a per-user entry in a concurrent map, so a hot account
+ * that logs in a thousand times between flushes costs one row UPDATE. The
+ * scheduled flush swaps entries out and applies them in one JDBC batch,
+ * ordered by id so concurrent replicas lock rows in the same order. A
+ * final flush runs on graceful shutdown.
+ */
+@Component
+public class LoginActivityTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginActivityTracker.class);
+
+    // updated_at = updated_at stops MySQL's ON UPDATE CURRENT_TIMESTAMP from
+    // treating a login as a profile change
+    private static final String UPDATE_SQL =
+        "UPDATE users SET last_login_at = ?, login_count = login_count + ?, " +
+        "updated_at = updated_at WHERE id = ?";
+    private static final String UPDATE_SQL_NO_UPDATED_AT =
+        "UPDATE users SET last_login_at = ?, login_count = login_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<Long, LoginActivity> pending = new ConcurrentHashMap<>();
+    private final Counter recorded;
+    private final Counter flushedRows;
+    private volatile Boolean hasUpdatedAt;
+
+    public LoginActivityTracker(JdbcTemplate jdbcTemplate,
+                                EntityManagerFactory entityManagerFactory,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.recorded = meterRegistry.counter("login.activity.recorded");
+        this.flushedRows = meterRegistry.counter("login.activity.flushed.rows");
+        meterRegistry.gaugeMapSize("login.activity.pending", List.of(), pending);
+    }
+
+    public void recordLogin(Long userId) {
+        pending.merge(userId, new LoginActivity(LocalDateTime.now(), 1), LoginActivity::combine);
+        recorded.increment();
+    }
+
+    /**
+     * Activity not yet flushed for this user, or null
+     */
+    public LoginActivity pendingFor(Long userId) {
+        return pending.get(userId);
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.login-activity.flush-interval-ms:5000}",
+        initialDelayString = "${app.login-activity.flush-interval-ms:5000}"
+    )
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, LoginActivity>> batch = new ArrayList<>();
+        for (Long userId : pending.keySet()) {
+            LoginActivity activity = pending.remove(userId);
+            if (activity != null) {
+                batch.add(Map.entry(userId, activity));
+            }
+        }
+        batch.sort(Comparator.comparing(Map.Entry::getKey));
+
+        try {
+            jdbcTemplate.batchUpdate(updateSql(), batch, batch.size(), (ps, entry) -> {
+                ps.setTimestamp(1, Timestamp.valueOf(entry.getValue().lastLoginAt()));
+                ps.setInt(2, entry.getValue().count());
+                ps.setLong(3, entry.getKey());
+            });
+            flushedRows.increment(batch.size());
+            // The rows changed behind Hibernate's back; drop them from the second-level cache
+            Cache cache = entityManagerFactory.getCache();
+            batch.forEach(entry -> cache.evict(User.class, entry.getKey()));
+        } catch (Exception e) {
+            // Put the activity back so the next flush retries it
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), LoginActivity::combine));
+            log.warn("Failed to flush login activity for {} users: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private String updateSql() {
+        if (hasUpdatedAt == null) {
+            hasUpdatedAt = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                for (String table : List.of("users", "USERS")) {
+                    try (ResultSet columns = metaData.getColumns(
+                        connection.getCatalog(), connection.getSchema(), table, null)) {
+                        while (columns.next()) {
+                            if ("updated_at".equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+                return false;
+            });
+        }
+        return Boolean.TRUE.equals(hasUpdatedAt) ? UPDATE_SQL : UPDATE_SQL_NO_UPDATED_AT;
+    }
+
+    public record LoginActivity(LocalDateTime lastLoginAt, int count) {
+
+        LoginActivity combine(LoginActivity other) {
+            LocalDateTime latest = lastLoginAt.isAfter(other.lastLoginAt) ? lastLoginAt : other.lastLoginAt;
+            return new LoginActivity(latest, count + other.count);
+        }
+    }
+}
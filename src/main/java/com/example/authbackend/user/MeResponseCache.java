@@ -0,0 +1,80 @@
+package com.example.authbackend.user;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serialized /api/user/me bodies and their ETags, keyed by email
+ *
+ * An entry is reused while the user's id and updated_at match the ones it
+ * was built from, so a repeat request for an unchanged profile costs a
+ * second-level cache read and a map lookup: no query, no serialization.
+ * The ETag is the id, the version and a CRC of the body, so it stays
+ * strong even when two saves land within the column's precision. Past
+ * max-entries, Caffeine evicts the profiles least used recently.
+ */
+@Component
+public class MeResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> entries;
+
+    private final Counter hits;
+    private final Counter builds;
+
+    public MeResponseCache(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.user.me-cache.max-entries:10000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .<String, Entry>build()
+            .asMap();
+        this.hits = meterRegistry.counter("user.me.responses", "result", "cached");
+        this.builds = meterRegistry.counter("user.me.responses", "result", "built");
+        meterRegistry.gaugeMapSize("user.me.responses.size", List.of(), entries);
+    }
+
+    public Entry get(User user) {
+        long version = version(user);
+        Entry entry = entries.get(user.getEmail());
+        if (entry != null && Objects.equals(entry.userId(), user.getId()) && entry.version() == version) {
+            hits.increment();
+            return entry;
+        }
+
+        builds.increment();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new UserController.MeResponse(user.getName(), user.getEmail()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize profile", e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        String eTag = "\"" + Long.toString(user.getId(), 36) + "-" + Long.toString(version, 36) + "-"
+            + Long.toHexString(crc.getValue()) + "\"";
+
+        entry = new Entry(user.getId(), version, eTag, body);
+        entries.put(user.getEmail(), entry);
+        return entry;
+    }
+
+    private static long version(User user) {
+        // Rows written before updated_at was mapped may have none; the CRC still tells them apart
+        return user.getUpdatedAt() != null ? user.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+    }
+
+    public record Entry(Long userId, long version, String eTag, byte[] body) {
+    }
+}
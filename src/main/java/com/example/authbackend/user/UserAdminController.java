@@ -0,0 +1,90 @@
+package com.example.authbackend.user;
+
+import com.example.authbackend.role.AuthorityCache;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/users")
+public class UserAdminController {
+
+    private final UserRepository userRepository;
+    private final UserStatisticsService statisticsService;
+    private final AuthorityCache authorityCache;
+
+    public UserAdminController(UserRepository userRepository,
+                               UserStatisticsService statisticsService,
+                               AuthorityCache authorityCache) {
+        this.userRepository = userRepository;
+        this.statisticsService = statisticsService;
+        this.authorityCache = authorityCache;
+    }
+
+    /**
+     * Served from memory; see UserStatisticsService for how the counters
+     * are kept in step with the users table
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(statisticsService.snapshot());
+    }
+
+    /**
+     * Force a reconcile against the database instead of waiting for the
+     * next scheduled one
+     */
+    @PostMapping("/stats/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcile() {
+        statisticsService.reconcile();
+        return ResponseEntity.ok(statisticsService.snapshot());
+    }
+
+    @PutMapping("/{id}/enabled")
+    public ResponseEntity<?> setEnabled(@PathVariable("id") Long id,
+                                        @RequestBody EnabledRequest request) {
+        User user = userRepository.findCurrentById(id).orElse(null);
+        if (user == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", "User not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+
+        boolean wasEnabled = user.isEnabled();
+        user.setEnabled(request.isEnabled());
+        try {
+            userRepository.save(user);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", "User was modified concurrently, retry");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        }
+        statisticsService.onEnabledChanged(wasEnabled, user.isEnabled());
+        // Tokens with embedded roles are checked against the session's copy of enabled; refresh it
+        authorityCache.invalidate(user.getId());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("id", user.getId());
+        body.put("email", user.getEmail());
+        body.put("enabled", user.isEnabled());
+        return ResponseEntity.ok(body);
+    }
+
+    public static class EnabledRequest {
+
+        private boolean enabled;
+
+        public EnabledRequest() {}
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+}
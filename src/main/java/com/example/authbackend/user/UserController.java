@@ -1,5 +1,7 @@
 package com.example.authbackend.user;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -12,21 +14,30 @@ import org.springframework.web.bind.annotation.*;
 )
 public class UserController {
 
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
+    private final MeResponseCache meResponseCache;
 
-    public UserController(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public UserController(UserLookup userLookup, MeResponseCache meResponseCache) {
+        this.userLookup = userLookup;
+        this.meResponseCache = meResponseCache;
     }
 
+    /**
+     * The body carries a strong ETag; Spring answers a matching
+     * If-None-Match with 304 and no body. Clients must revalidate each time.
+     */
     @GetMapping("/me")
     public ResponseEntity<?> me(Authentication authentication) {
         String email = authentication.getName();
-        User user = userRepository
+        User user = userLookup
             .findByEmail(email)
             .orElseThrow(() -> new RuntimeException("User not found"));
-        return ResponseEntity.ok(
-            new MeResponse(user.getName(), user.getEmail())
-        );
+        MeResponseCache.Entry response = meResponseCache.get(user);
+        return ResponseEntity.ok()
+            .eTag(response.eTag())
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(response.body());
     }
 
     public static class MeResponse {
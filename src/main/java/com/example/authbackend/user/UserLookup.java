@@ -0,0 +1,88 @@
+package com.example.authbackend.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Read-only user lookups by email with request coalescing
+ *
+ * Concurrent lookups for the same email share one in-flight query: the
+ * first caller runs it and the rest wait on its result. The result is also
+ * kept on the current request, so the security filter and the controller
+ * behind it read the row once. Nothing is cached beyond the request.
+ * Returned users may be shared between threads, so callers that modify
+ * and save a user must load it from UserRepository instead.
+ */
+@Service
+public class UserLookup {
+
+    private static final String REQUEST_ATTRIBUTE_PREFIX = "authbackend.user.";
+
+    private final UserRepository userRepository;
+    private final Map<String, CompletableFuture<Optional<User>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter requestHits;
+
+    public UserLookup(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.executed = meterRegistry.counter("user.lookups", "result", "executed");
+        this.coalesced = meterRegistry.counter("user.lookups", "result", "coalesced");
+        this.requestHits = meterRegistry.counter("user.lookups", "result", "request");
+        meterRegistry.gaugeMapSize("user.lookups.in-flight", List.of(), inFlight);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<User> findByEmail(String email) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String attribute = REQUEST_ATTRIBUTE_PREFIX + email;
+        if (request != null) {
+            Object cached = request.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+            if (cached != null) {
+                requestHits.increment();
+                return (Optional<User>) cached;
+            }
+        }
+
+        Optional<User> user = coalesce(email);
+        if (request != null) {
+            request.setAttribute(attribute, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    private Optional<User> coalesce(String email) {
+        CompletableFuture<Optional<User>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<User>> leader = inFlight.putIfAbsent(email, mine);
+        if (leader != null) {
+            coalesced.increment();
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        executed.increment();
+        try {
+            Optional<User> user = userRepository.findByEmail(email);
+            mine.complete(user);
+            return user;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(email, mine);
+        }
+    }
+}
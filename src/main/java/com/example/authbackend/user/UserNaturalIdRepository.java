@@ -0,0 +1,25 @@
+package com.example.authbackend.user;
+
+import java.util.Optional;
+
+/**
+ * Lookups by the User natural id (email), served from the second-level
+ * cache when the email and the row are both cached, plus uncached reads
+ * for credential checks and read-modify-write flows
+ */
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Reads the row from the database, bypassing the second-level cache,
+     * and refreshes the cached copy
+     */
+    Optional<User> findCurrentByEmail(String email);
+
+    /**
+     * Reads the row from the database, bypassing the second-level cache,
+     * and refreshes the cached copy
+     */
+    Optional<User> findCurrentById(Long id);
+}
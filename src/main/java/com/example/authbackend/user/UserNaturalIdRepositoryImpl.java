@@ -0,0 +1,66 @@
+package com.example.authbackend.user;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.util.Map;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data prefers this fragment over a derived query, so
+ * UserRepository.findByEmail goes through Hibernate's natural-id
+ * resolution (users-by-email region, then the users region) instead of a
+ * JPQL query that always reaches the database.
+ *
+ * The findCurrent* variants are for paths that must not act on a stale
+ * cached row: checking a password, or loading a user to modify and save.
+ * They read the database and overwrite the cached entry, so the merge in
+ * a following save sees the same version and its optimistic check is
+ * against the row as read.
+ */
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    private static final Map<String, Object> BYPASS_CACHE = Map.of(
+        "jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS,
+        "jakarta.persistence.cache.storeMode", CacheStoreMode.REFRESH
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(User.class)
+            .loadOptional(email);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findCurrentByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        TypedQuery<User> query = entityManager.createQuery("SELECT u FROM User u WHERE u.email = :email", User.class)
+            .setParameter("email", email);
+        BYPASS_CACHE.forEach(query::setHint);
+        return query.getResultStream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findCurrentById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entityManager.find(User.class, id, BYPASS_CACHE));
+    }
+}
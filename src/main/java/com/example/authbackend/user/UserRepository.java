@@ -1,11 +1,36 @@
 package com.example.authbackend.user;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 
     boolean existsByEmail(String email);
 
-    Optional<User> findByEmail(String email);
+    // Both load a user to modify; see UserNaturalIdRepositoryImpl for why the cache is bypassed
+    @QueryHints({
+        @QueryHint(name = "jakarta.persistence.cache.retrieveMode", value = "BYPASS"),
+        @QueryHint(name = "jakarta.persistence.cache.storeMode", value = "REFRESH")
+    })
+    Optional<User> findByEmailVerificationToken(String tokenDigest);
+
+    @QueryHints({
+        @QueryHint(name = "jakarta.persistence.cache.retrieveMode", value = "BYPASS"),
+        @QueryHint(name = "jakarta.persistence.cache.storeMode", value = "REFRESH")
+    })
+    Optional<User> findByPasswordResetToken(String tokenDigest);
+
+    /**
+     * Keyset page of enabled users after afterId, in id order; only the
+     * projected columns are read
+     */
+    @Query("SELECT u.id AS id, u.email AS email, u.name AS name FROM User u " +
+           "WHERE u.id > :afterId AND u.enabled = true ORDER BY u.id")
+    List<EmailRecipient> findRecipientsAfter(@Param("afterId") Long afterId, Pageable page);
 }
@@ -0,0 +1,151 @@
+package com.example.authbackend.user;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory user statistics, maintained incrementally
+ *
+ * Replaces reads of the user_statistics view, which scans the whole users
+ * table on every dashboard refresh. Signup, login and enable/disable
+ * events adjust counters as they happen, so a read is O(1). A scheduled
+ * reconcile runs the full count once per interval and replaces the
+ * counters with the database's numbers. That corrects drift from other
+ * writers and ages out the sliding windows (active in the last 30 days,
+ * new in the last 7 days), which the counters can only increment.
+ */
+@Service
+public class UserStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatisticsService.class);
+
+    static final int ACTIVE_WINDOW_DAYS = 30;
+    static final int NEW_WINDOW_DAYS = 7;
+
+    private static final String RECONCILE_SQL =
+        "SELECT COUNT(*), " +
+        "COALESCE(SUM(CASE WHEN enabled THEN 1 ELSE 0 END), 0), " +
+        "COALESCE(SUM(CASE WHEN email_verified THEN 1 ELSE 0 END), 0), " +
+        "COALESCE(SUM(CASE WHEN last_login_at > ? THEN 1 ELSE 0 END), 0), " +
+        "COALESCE(SUM(CASE WHEN created_at > ? THEN 1 ELSE 0 END), 0) " +
+        "FROM users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoginActivityTracker loginActivityTracker;
+
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong enabledUsers = new AtomicLong();
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong activeLast30Days = new AtomicLong();
+    private final AtomicLong newLast7Days = new AtomicLong();
+
+    private volatile LocalDateTime reconciledAt;
+    private volatile long reconcileMillis;
+
+    public UserStatisticsService(
+        JdbcTemplate jdbcTemplate,
+        LoginActivityTracker loginActivityTracker,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loginActivityTracker = loginActivityTracker;
+
+        Gauge.builder("users.total", total, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("users.enabled", enabledUsers, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("users.active.30d", activeLast30Days, AtomicLong::get).register(meterRegistry);
+    }
+
+    public void onSignup(User user) {
+        total.incrementAndGet();
+        newLast7Days.incrementAndGet();
+        if (user.isEnabled()) {
+            enabledUsers.incrementAndGet();
+        }
+        if (user.isEmailVerified()) {
+            verified.incrementAndGet();
+        }
+    }
+
+    /**
+     * Call before the login is handed to LoginActivityTracker: a user with
+     * activity still pending a flush has already been counted.
+     */
+    public void onLogin(User user) {
+        if (loginActivityTracker.pendingFor(user.getId()) != null) {
+            return;
+        }
+        LocalDateTime previous = user.getLastLoginAt();
+        if (previous == null || previous.isBefore(LocalDateTime.now().minusDays(ACTIVE_WINDOW_DAYS))) {
+            activeLast30Days.incrementAndGet();
+        }
+    }
+
+    public void onEmailVerified() {
+        verified.incrementAndGet();
+    }
+
+    public void onEnabledChanged(boolean wasEnabled, boolean nowEnabled) {
+        if (wasEnabled != nowEnabled) {
+            enabledUsers.addAndGet(nowEnabled ? 1 : -1);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.user-stats.reconcile-interval-ms:300000}",
+        initialDelayString = "${app.user-stats.reconcile-interval-ms:300000}"
+    )
+    public void reconcile() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            jdbcTemplate.query(RECONCILE_SQL, rs -> {
+                // Events that land while the query runs may be counted twice
+                // until the next reconcile; that is preferable to holding a lock
+                total.set(rs.getLong(1));
+                enabledUsers.set(rs.getLong(2));
+                verified.set(rs.getLong(3));
+                activeLast30Days.set(rs.getLong(4));
+                newLast7Days.set(rs.getLong(5));
+            },
+                Timestamp.valueOf(now.minusDays(ACTIVE_WINDOW_DAYS)),
+                Timestamp.valueOf(now.minusDays(NEW_WINDOW_DAYS)));
+            reconciledAt = now;
+            reconcileMillis = (System.nanoTime() - started) / 1_000_000;
+        } catch (Exception e) {
+            log.warn("User statistics reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        long totalUsers = total.get();
+        long active = enabledUsers.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalUsers", totalUsers);
+        stats.put("activeUsers", active);
+        stats.put("disabledUsers", totalUsers - active);
+        stats.put("verifiedUsers", verified.get());
+        stats.put("activeLast30Days", activeLast30Days.get());
+        stats.put("newLast7Days", newLast7Days.get());
+        stats.put("reconciledAt", reconciledAt);
+        stats.put("reconcileMillis", reconcileMillis);
+        return stats;
+    }
+}
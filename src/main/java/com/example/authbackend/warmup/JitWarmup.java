@@ -0,0 +1,186 @@
+package com.example.authbackend.warmup;
+
+import com.example.authbackend.auth.dto.AuthResponse;
+import com.example.authbackend.auth.dto.LoginRequest;
+import com.example.authbackend.auth.dto.SignupRequest;
+import com.example.authbackend.security.JwtService;
+import com.example.authbackend.user.User;
+import com.example.authbackend.user.UserLookup;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the login and token-validation hot paths in the background right
+ * after startup, so the JIT compiles them before real traffic arrives.
+ * {@link WarmupHealthIndicator} reports WARMING_UP until it completes,
+ * which only the readiness group maps to 503.
+ *
+ * Each iteration signs and verifies a JWT, reads the login and signup
+ * DTOs and writes an AuthResponse with the application's ObjectMapper,
+ * and looks up an email that does not exist (read-only). BCrypt runs once
+ * per round, since a single hash already loops thousands of times.
+ *
+ * Work runs in rounds. It stops once min-iterations have run and a round
+ * adds less than settle-compile-ms of JIT compilation time, or at
+ * max-iterations or max-duration-seconds. A failure also ends the
+ * warm-up: a replica is never held out of rotation because of it.
+ */
+@Service
+public class JitWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(JitWarmup.class);
+
+    private static final String PROBE_EMAIL = "warmup@localhost.invalid";
+    private static final String LOGIN_JSON =
+        "{\"email\":\"" + PROBE_EMAIL + "\",\"password\":\"warmup-password\"}";
+    private static final String SIGNUP_JSON =
+        "{\"name\":\"Warmup\",\"email\":\"" + PROBE_EMAIL + "\",\"password\":\"warmup-password\"}";
+
+    private final JwtService jwtService;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final UserLookup userLookup;
+
+    private final boolean enabled;
+    private final int minIterations;
+    private final int maxIterations;
+    private final int roundSize;
+    private final long settleCompileMillis;
+    private final Duration maxDuration;
+
+    private volatile boolean complete;
+    private volatile int iterations;
+    private volatile long durationMillis;
+    private volatile String stopReason;
+
+    public JitWarmup(
+        JwtService jwtService,
+        PasswordEncoder passwordEncoder,
+        ObjectMapper objectMapper,
+        UserLookup userLookup,
+        MeterRegistry meterRegistry,
+        @Value("${app.warmup.enabled:true}") boolean enabled,
+        @Value("${app.warmup.min-iterations:1000}") int minIterations,
+        @Value("${app.warmup.max-iterations:5000}") int maxIterations,
+        @Value("${app.warmup.round-size:250}") int roundSize,
+        @Value("${app.warmup.settle-compile-ms:25}") long settleCompileMillis,
+        @Value("${app.warmup.max-duration-seconds:60}") long maxDurationSeconds
+    ) {
+        this.jwtService = jwtService;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.userLookup = userLookup;
+        this.enabled = enabled;
+        this.maxIterations = Math.max(0, maxIterations);
+        this.minIterations = Math.min(Math.max(0, minIterations), this.maxIterations);
+        this.roundSize = Math.max(1, roundSize);
+        this.settleCompileMillis = settleCompileMillis;
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.complete = !enabled;
+        this.stopReason = enabled ? null : "disabled";
+
+        TimeGauge.builder("jit.warmup.duration", this, TimeUnit.MILLISECONDS, warmup -> warmup.durationMillis)
+            .description("Time spent warming up the JIT after startup")
+            .register(meterRegistry);
+        Gauge.builder("jit.warmup.iterations", this, warmup -> warmup.iterations)
+            .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "jit-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("complete", complete);
+        status.put("iterations", iterations);
+        status.put("durationMs", durationMillis);
+        status.put("stopReason", stopReason);
+        return status;
+    }
+
+    private void run() {
+        long started = System.nanoTime();
+        Instant deadline = Instant.now().plus(maxDuration);
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean canSettle = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        String reason = "max-iterations";
+        try {
+            User probe = new User(0L, "Warmup", PROBE_EMAIL, null);
+            String hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            long compileTime = canSettle ? compiler.getTotalCompilationTime() : 0;
+
+            while (iterations < maxIterations) {
+                int round = Math.min(roundSize, maxIterations - iterations);
+                passwordEncoder.matches("warmup-password", hash);
+                for (int i = 0; i < round; i++) {
+                    exercise(probe);
+                }
+                iterations += round;
+                durationMillis = (System.nanoTime() - started) / 1_000_000;
+
+                if (canSettle) {
+                    long now = compiler.getTotalCompilationTime();
+                    boolean settled = now - compileTime < settleCompileMillis;
+                    compileTime = now;
+                    if (settled && iterations >= minIterations) {
+                        reason = "settled";
+                        break;
+                    }
+                }
+                if (Instant.now().isAfter(deadline)) {
+                    reason = "max-duration";
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            reason = "failed: " + e.getMessage();
+            log.warn("JIT warm-up failed after {} iterations, marking ready anyway", iterations, e);
+        } finally {
+            durationMillis = (System.nanoTime() - started) / 1_000_000;
+            stopReason = reason;
+            complete = true;
+        }
+        log.info("JIT warm-up finished: {} iterations in {} ms ({})", iterations, durationMillis, reason);
+    }
+
+    private void exercise(User probe) throws Exception {
+        String token = jwtService.generateToken(probe);
+        Claims claims = jwtService.parseClaims(token);
+        jwtService.validateToken(token);
+
+        objectMapper.readValue(LOGIN_JSON, LoginRequest.class);
+        objectMapper.readValue(SIGNUP_JSON, SignupRequest.class);
+        objectMapper.writeValueAsBytes(new AuthResponse(token, (String) claims.get("name"), claims.getSubject()));
+
+        userLookup.findByEmail(PROBE_EMAIL);
+    }
+}
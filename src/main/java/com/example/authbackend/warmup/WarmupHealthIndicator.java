@@ -0,0 +1,31 @@
+package com.example.authbackend.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * WARMING_UP while {@link JitWarmup} runs. Part of the readiness group
+ * (management.endpoint.health.group.readiness.include), which maps that
+ * status to 503, so the load balancer holds traffic until the hot paths
+ * are compiled. Everywhere else WARMING_UP keeps the default 200, so
+ * liveness and the container checks on /actuator/health are unaffected.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    static final Status WARMING_UP = new Status("WARMING_UP", "JIT warm-up in progress");
+
+    private final JitWarmup jitWarmup;
+
+    public WarmupHealthIndicator(JitWarmup jitWarmup) {
+        this.jitWarmup = jitWarmup;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = jitWarmup.isComplete() ? Health.up() : Health.status(WARMING_UP);
+        return builder.withDetails(jitWarmup.status()).build();
+    }
+}
@@ -0,0 +1,13 @@
+-- ================================================================
+-- V10: Optimistic lock version on users
+-- ================================================================
+-- Incremented by Hibernate on every entity update; an update from a
+-- stale copy matches no row and is rejected. JDBC batch writes
+-- (login tracking, authorities_changed_at) leave it alone.
+-- ALGORITHM=INSTANT adds the column without rebuilding users.
+
+SET SESSION lock_wait_timeout = 5;
+
+ALTER TABLE users
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ALGORITHM=INSTANT;
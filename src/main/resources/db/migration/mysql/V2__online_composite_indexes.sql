@@ -0,0 +1,22 @@
+-- ================================================================
+-- V2: Composite indexes, built online
+-- ================================================================
+-- schema-mysql.sql declared these with CREATE INDEX IF NOT EXISTS, which
+-- MySQL does not support, so they never existed on replayed databases.
+--
+-- ALGORITHM=INPLACE, LOCK=NONE keeps reads and writes flowing while the
+-- index is built; MySQL refuses the statement rather than silently
+-- falling back to a blocking table copy. The short lock_wait_timeout
+-- bounds how long the brief metadata lock at start/end can queue behind
+-- (and in front of) live traffic on the hot users table.
+
+SET SESSION lock_wait_timeout = 5;
+
+ALTER TABLE users
+    ADD INDEX idx_users_email_enabled (email, enabled),
+    ADD INDEX idx_users_created_enabled (created_at, enabled),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE user_sessions
+    ADD INDEX idx_user_sessions_user_active (user_id, active),
+    ALGORITHM=INPLACE, LOCK=NONE;
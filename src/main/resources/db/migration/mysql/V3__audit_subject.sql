@@ -0,0 +1,12 @@
+-- ================================================================
+-- V3: Record the account an audit event refers to
+-- ================================================================
+-- Failed logins and rejected tokens have no user_id, so the attempted
+-- email / token subject is kept in its own column. ALGORITHM=INSTANT only
+-- touches the data dictionary, so the hot audit_logs table is not rebuilt.
+
+SET SESSION lock_wait_timeout = 5;
+
+ALTER TABLE audit_logs
+    ADD COLUMN subject VARCHAR(255) NULL AFTER entity_id,
+    ALGORITHM=INSTANT;
@@ -0,0 +1,10 @@
+-- ================================================================
+-- V4: Successful login counter, maintained by LoginActivityTracker
+-- ================================================================
+-- ALGORITHM=INSTANT adds the column without rebuilding users.
+
+SET SESSION lock_wait_timeout = 5;
+
+ALTER TABLE users
+    ADD COLUMN login_count INT NOT NULL DEFAULT 0 AFTER last_login_at,
+    ALGORITHM=INSTANT;
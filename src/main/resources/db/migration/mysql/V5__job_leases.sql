@@ -0,0 +1,14 @@
+-- ================================================================
+-- V5: Lease rows for single-runner background jobs
+-- ================================================================
+-- Replaces the CREATE EVENT cleanup jobs, which need event_scheduler
+-- privileges managed MySQL does not grant. Each replica runs the purge
+-- scheduler, but only the holder of an unexpired lease row does the work.
+-- New table only, so nothing existing is locked.
+
+CREATE TABLE IF NOT EXISTS job_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(128) NOT NULL,
+    lease_until TIMESTAMP NOT NULL,
+    acquired_at TIMESTAMP NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
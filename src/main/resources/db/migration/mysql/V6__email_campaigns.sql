@@ -0,0 +1,24 @@
+-- ================================================================
+-- V6: Bulk announcement emails
+-- ================================================================
+-- One row per campaign. last_user_id is the keyset cursor over users.id,
+-- advanced after every accepted SendGrid request, so a restarted or
+-- paused campaign resumes where it stopped. New table only.
+
+CREATE TABLE IF NOT EXISTS email_campaigns (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    template VARCHAR(64) NOT NULL,
+    locale VARCHAR(16) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    last_user_id BIGINT NOT NULL DEFAULT 0,
+    sent_count BIGINT NOT NULL DEFAULT 0,
+    request_count INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    created_by VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP NULL,
+    INDEX idx_email_campaigns_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,7 @@
+-- ================================================================
+-- V7: SERVICE role for internal callers of /api/introspect
+-- ================================================================
+-- Matches RoleService's built-in roles. Insert only, no lock on users.
+
+INSERT IGNORE INTO roles (name, description) VALUES
+('SERVICE', 'Internal service allowed to introspect tokens');
@@ -0,0 +1,22 @@
+-- ================================================================
+-- V8: API keys for service-to-service calls
+-- ================================================================
+-- Keys are stored as SHA-256 digests. updated_at is set by the
+-- application on every change and indexed for ApiKeyIndex's
+-- incremental refresh. New table only.
+
+CREATE TABLE IF NOT EXISTS api_keys (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    key_prefix VARCHAR(16) NOT NULL,
+    key_digest VARCHAR(64) NOT NULL,
+    scopes VARCHAR(500) NOT NULL,
+    rate_limit_per_minute INT NOT NULL DEFAULT 0,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    created_by VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NULL,
+    UNIQUE KEY uk_api_keys_key_digest (key_digest),
+    INDEX idx_api_keys_updated_at (updated_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
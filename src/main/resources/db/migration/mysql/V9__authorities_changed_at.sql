@@ -0,0 +1,13 @@
+-- ================================================================
+-- V9: Per-user authority change marker
+-- ================================================================
+-- Set by AuthorityCache.invalidate when roles or the enabled flag
+-- change, and read with the session check so that every instance
+-- stops trusting roles embedded in older tokens.
+-- ALGORITHM=INSTANT adds the column without rebuilding users.
+
+SET SESSION lock_wait_timeout = 5;
+
+ALTER TABLE users
+    ADD COLUMN authorities_changed_at TIMESTAMP NULL,
+    ALGORITHM=INSTANT;
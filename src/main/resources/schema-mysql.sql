@@ -3,6 +3,10 @@
 -- ================================================================
 -- This script creates the necessary tables for the authentication system
 -- Optimized for MySQL 8.0+ with proper indexes and constraints
+--
+-- NOTE: The application no longer replays this file at startup. The schema
+-- is managed by versioned Flyway migrations in db/migration/mysql; keep this
+-- file for manual one-off setup only.
 
 -- Create database (will be created automatically if createDatabaseIfNotExist=true)
 -- CREATE DATABASE IF NOT EXISTS authdb CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
@@ -158,7 +162,8 @@ CREATE TABLE IF NOT EXISTS app_settings (
 INSERT IGNORE INTO roles (name, description) VALUES
 ('USER', 'Standard user role with basic permissions'),
 ('ADMIN', 'Administrator role with full system access'),
-('MODERATOR', 'Moderator role with limited administrative permissions');
+('MODERATOR', 'Moderator role with limited administrative permissions'),
+('SERVICE', 'Internal service allowed to introspect tokens');
 
 -- Insert default application settings
 INSERT IGNORE INTO app_settings (setting_key, setting_value, setting_type, description) VALUES
@@ -173,6 +178,8 @@ INSERT IGNORE INTO app_settings (setting_key, setting_value, setting_type, descr
 -- CLEANUP PROCEDURES (Optional)
 -- ================================================================
 
+-- Superseded by the application PurgeJob (chunked, lease-coordinated);
+-- kept for reference, not part of the Flyway migrations
 -- Create event to clean up expired tokens
 DELIMITER //
 CREATE EVENT IF NOT EXISTS cleanup_expired_tokens
@@ -0,0 +1,280 @@
+package com.example.authbackend.oidc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.example.authbackend.outbound.OutboundHttp;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Runs the verifier against a local JWKS endpoint. Keys are served with
+ * max-age=0, so every scheduled refresh refetches and max-stale is the
+ * only thing keeping keys alive when the endpoint fails.
+ */
+class OidcTokenVerifierTest {
+
+    private static final String ISSUER = "https://issuer.test";
+    private static final String CLIENT_ID = "client-1";
+    private static final long MAX_STALE_SECONDS = 1;
+
+    private static KeyPair k1;
+    private static KeyPair k2;
+
+    private JwksStub jwks;
+    private JdbcTemplate jdbcTemplate;
+    private OidcTokenVerifier verifier;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        k1 = generator.generateKeyPair();
+        k2 = generator.generateKeyPair();
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jwks = new JwksStub();
+        jwks.publish("k1", k1);
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:oidc-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE jwt_blacklist (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "token_hash VARCHAR(64) NOT NULL UNIQUE, user_id BIGINT, expires_at TIMESTAMP NOT NULL, " +
+            "blacklisted_at TIMESTAMP, reason VARCHAR(100))");
+
+        MockEnvironment env = new MockEnvironment()
+            .withProperty("app.oidc.test.client-ids", CLIENT_ID)
+            .withProperty("app.oidc.test.issuers", ISSUER)
+            .withProperty("app.oidc.test.jwks-uri", jwks.uri())
+            .withProperty("app.outbound.oidc-test.breaker-failure-threshold", "1000");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        verifier = new OidcTokenVerifier(
+            env,
+            new OutboundHttp(env, meterRegistry, 2000, 1),
+            new ObjectMapper(),
+            meterRegistry,
+            new IdTokenReplayGuard(jdbcTemplate),
+            "test",
+            0.75,
+            0,
+            3600,
+            MAX_STALE_SECONDS,
+            0,
+            60);
+        verifier.refreshDue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jwks.stop();
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void acceptsValidToken() {
+        VerifiedIdentity identity = verifier.verify("test", token("k1", k1, claims()), "n-1");
+
+        assertNotNull(identity);
+        assertEquals("user@example.com", identity.email());
+        assertEquals("sub-1", identity.subject());
+    }
+
+    @Test
+    void rejectsWrongAudience() {
+        Map<String, Object> claims = claims();
+        claims.put("aud", "someone-else");
+
+        assertNull(verifier.verify("test", token("k1", k1, claims), "n-1"));
+    }
+
+    @Test
+    void rejectsWrongIssuer() {
+        Map<String, Object> claims = claims();
+        claims.put("iss", "https://evil.test");
+
+        assertNull(verifier.verify("test", token("k1", k1, claims), "n-1"));
+    }
+
+    @Test
+    void rejectsMissingIssuer() {
+        Map<String, Object> claims = claims();
+        claims.remove("iss");
+
+        assertNull(verifier.verify("test", token("k1", k1, claims), "n-1"));
+    }
+
+    @Test
+    void rejectsUnverifiedEmail() {
+        Map<String, Object> claims = claims();
+        claims.put("email_verified", false);
+
+        assertNull(verifier.verify("test", token("k1", k1, claims), "n-1"));
+    }
+
+    @Test
+    void rejectsMissingOrDifferentNonce() {
+        String token = token("k1", k1, claims());
+
+        assertNull(verifier.verify("test", token, null));
+        assertNull(verifier.verify("test", token, "n-2"));
+    }
+
+    @Test
+    void rejectsReplayedToken() {
+        String token = token("k1", k1, claims());
+
+        assertNotNull(verifier.verify("test", token, "n-1"));
+        assertNull(verifier.verify("test", token, "n-1"));
+    }
+
+    @Test
+    void refetchesKeysForRotatedKid() {
+        jwks.publish("k2", k2);
+        int fetches = jwks.fetches();
+
+        assertNotNull(verifier.verify("test", token("k2", k2, claims()), "n-1"));
+        assertEquals(fetches + 1, jwks.fetches());
+    }
+
+    @Test
+    void keepsKeysWhenRefreshFailsWithinMaxStale() {
+        jwks.fail(true);
+        verifier.refreshDue();
+
+        assertNotNull(verifier.verify("test", token("k1", k1, claims()), "n-1"));
+    }
+
+    @Test
+    void dropsKeysWhenRefreshFailsBeyondMaxStale() throws InterruptedException {
+        jwks.fail(true);
+        Thread.sleep(MAX_STALE_SECONDS * 1000 + 200);
+        verifier.refreshDue();
+
+        assertNull(verifier.verify("test", token("k1", k1, claims()), "n-1"));
+    }
+
+    private static Map<String, Object> claims() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("iss", ISSUER);
+        claims.put("aud", CLIENT_ID);
+        claims.put("sub", "sub-1");
+        claims.put("email", "user@example.com");
+        claims.put("email_verified", true);
+        claims.put("nonce", "n-1");
+        claims.put("iat", new Date(now));
+        claims.put("exp", new Date(now + 600_000));
+        // Distinct tokens for otherwise identical claims, so replay tracking stays per test
+        claims.put("jti", UUID.randomUUID().toString());
+        return claims;
+    }
+
+    private static String token(String kid, KeyPair key, Map<String, Object> claims) {
+        return Jwts.builder()
+            .setHeaderParam("kid", kid)
+            .setClaims(claims)
+            .signWith(key.getPrivate(), SignatureAlgorithm.RS256)
+            .compact();
+    }
+
+    /**
+     * JWKS endpoint on an ephemeral port; fail(true) makes it answer 500
+     */
+    private static final class JwksStub {
+
+        private final HttpServer server;
+        private final List<String> keys = new ArrayList<>();
+        private final AtomicInteger fetches = new AtomicInteger();
+        private volatile boolean failing;
+
+        JwksStub() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/certs", exchange -> {
+                fetches.incrementAndGet();
+                byte[] body;
+                int status;
+                if (failing) {
+                    status = 500;
+                    body = "{}".getBytes(StandardCharsets.UTF_8);
+                } else {
+                    status = 200;
+                    synchronized (keys) {
+                        body = ("{\"keys\":[" + String.join(",", keys) + "]}").getBytes(StandardCharsets.UTF_8);
+                    }
+                    exchange.getResponseHeaders().add("Cache-Control", "public, max-age=0");
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+        }
+
+        String uri() {
+            return "http://127.0.0.1:" + server.getAddress().getPort() + "/certs";
+        }
+
+        void publish(String kid, KeyPair key) {
+            RSAPublicKey publicKey = (RSAPublicKey) key.getPublic();
+            synchronized (keys) {
+                keys.add("{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"" + kid + "\"," +
+                    "\"n\":\"" + base64Url(publicKey.getModulus()) + "\"," +
+                    "\"e\":\"" + base64Url(publicKey.getPublicExponent()) + "\"}");
+            }
+        }
+
+        void fail(boolean failing) {
+            this.failing = failing;
+        }
+
+        int fetches() {
+            return fetches.get();
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private static String base64Url(BigInteger value) {
+            byte[] bytes = value.toByteArray();
+            if (bytes[0] == 0 && bytes.length > 1) {
+                byte[] unsigned = new byte[bytes.length - 1];
+                System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+                bytes = unsigned;
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+    }
+}
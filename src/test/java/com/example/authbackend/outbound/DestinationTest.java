@@ -0,0 +1,218 @@
+package com.example.authbackend.outbound;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Runs a destination against a local stub. The breaker opens after
+ * FAILURE_THRESHOLD failures for OPEN_MS, and only one call may be in
+ * flight, so a held request is enough to fill the cap.
+ */
+class DestinationTest {
+
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final long OPEN_MS = 300;
+    private static final long REQUEST_TIMEOUT_MS = 300;
+
+    private RemoteStub remote;
+    private OutboundHttp outboundHttp;
+    private Destination destination;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        remote = new RemoteStub();
+        MockEnvironment env = new MockEnvironment()
+            .withProperty("app.outbound.test.request-timeout-ms", String.valueOf(REQUEST_TIMEOUT_MS))
+            .withProperty("app.outbound.test.max-concurrent", "1")
+            .withProperty("app.outbound.test.acquire-timeout-ms", "0")
+            .withProperty("app.outbound.test.breaker-failure-threshold", String.valueOf(FAILURE_THRESHOLD))
+            .withProperty("app.outbound.test.breaker-open-ms", String.valueOf(OPEN_MS));
+        outboundHttp = new OutboundHttp(env, new SimpleMeterRegistry(), 2000, 1);
+        destination = outboundHttp.destination("test", remote.uri());
+    }
+
+    @AfterEach
+    void tearDown() {
+        remote.release();
+        outboundHttp.shutdown();
+        remote.stop();
+    }
+
+    @Test
+    void opensAfterFailureThreshold() {
+        remote.respondWith(500);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertEquals(500, call().statusCode());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, state());
+        OutboundException e = assertThrows(OutboundException.class, this::call);
+        assertTrue(e.getMessage().contains("circuit breaker is open"));
+        assertEquals(FAILURE_THRESHOLD, remote.requests());
+    }
+
+    @Test
+    void letsOneHalfOpenProbeThrough() throws Exception {
+        remote.respondWith(500);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            call();
+        }
+        Thread.sleep(OPEN_MS + 50);
+        remote.respondWith(200);
+        remote.hold();
+
+        CompletableFuture<HttpResponse<String>> probe = CompletableFuture.supplyAsync(this::call);
+        remote.awaitInFlight(1);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, state());
+        OutboundException e = assertThrows(OutboundException.class, this::call);
+        assertTrue(e.getMessage().contains("circuit breaker is open"));
+
+        remote.release();
+        assertEquals(200, probe.get(5, TimeUnit.SECONDS).statusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, state());
+        assertEquals(FAILURE_THRESHOLD + 1, remote.requests());
+    }
+
+    @Test
+    void clientErrorsDoNotCountAsFailures() {
+        remote.respondWith(404);
+        for (int i = 0; i < FAILURE_THRESHOLD * 2; i++) {
+            assertEquals(404, call().statusCode());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, state());
+        assertEquals(0, destination.describe().get("consecutiveFailures"));
+    }
+
+    @Test
+    void rejectsCallsBeyondConcurrencyCap() throws Exception {
+        remote.respondWith(200);
+        remote.hold();
+
+        CompletableFuture<HttpResponse<String>> first = CompletableFuture.supplyAsync(this::call);
+        remote.awaitInFlight(1);
+        OutboundException e = assertThrows(OutboundException.class, this::call);
+        assertTrue(e.getMessage().contains("calls in flight"));
+
+        remote.release();
+        assertEquals(200, first.get(5, TimeUnit.SECONDS).statusCode());
+        assertEquals(1, remote.requests());
+        // Refused while closed: the remote end was never reached, so no failure is counted
+        assertEquals(CircuitBreaker.State.CLOSED, state());
+        assertEquals(0, destination.describe().get("consecutiveFailures"));
+    }
+
+    @Test
+    void countsTimeoutAsFailure() {
+        remote.respondWith(200);
+        remote.hold();
+
+        OutboundException e = assertThrows(OutboundException.class, this::call);
+        assertTrue(e.getMessage().contains("timed out"));
+        assertEquals(1, destination.describe().get("consecutiveFailures"));
+
+        for (int i = 1; i < FAILURE_THRESHOLD; i++) {
+            assertThrows(OutboundException.class, this::call);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, state());
+    }
+
+    private HttpResponse<String> call() {
+        return destination.send(destination.request("/").GET().build());
+    }
+
+    private CircuitBreaker.State state() {
+        return (CircuitBreaker.State) destination.describe().get("breaker");
+    }
+
+    /**
+     * Remote service on an ephemeral port; hold() parks every request
+     * until release()
+     */
+    private static final class RemoteStub {
+
+        private final HttpServer server;
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile int status = 200;
+        private volatile CountDownLatch held = new CountDownLatch(0);
+
+        RemoteStub() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.setExecutor(executor);
+            server.createContext("/", exchange -> {
+                requests.incrementAndGet();
+                inFlight.incrementAndGet();
+                try {
+                    held.await(5, TimeUnit.SECONDS);
+                    byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(status, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    // The client gave up on a held request
+                } finally {
+                    inFlight.decrementAndGet();
+                    exchange.close();
+                }
+            });
+            server.start();
+        }
+
+        String uri() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        void respondWith(int status) {
+            this.status = status;
+        }
+
+        void hold() {
+            held = new CountDownLatch(1);
+        }
+
+        void release() {
+            held.countDown();
+        }
+
+        void awaitInFlight(int expected) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (inFlight.get() < expected && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(expected, inFlight.get());
+        }
+
+        int requests() {
+            return requests.get();
+        }
+
+        void stop() {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+}